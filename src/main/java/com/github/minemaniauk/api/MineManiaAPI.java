@@ -26,6 +26,7 @@ import com.github.kerbity.kerb.result.CompletableResultSet;
 import com.github.minemaniauk.api.game.GameManager;
 import com.github.smuddgge.squishydatabase.interfaces.Database;
 import com.github.squishylib.configuration.Configuration;
+import com.mongodb.client.MongoDatabase;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -58,6 +59,22 @@ public interface MineManiaAPI {
      */
     @NotNull Database getDatabase();
 
+    /**
+     * Used to get the instance of the mongo database
+     * connection. This is used for atomic and batched
+     * operations the database library does not support.
+     * <li>
+     * This uses its own connection pool, created from the same
+     * connection string as {@link #getDatabase()}, so each server
+     * can open up to twice the connection string's maxPoolSize.
+     * </li>
+     *
+     * @return The instance of the mongo database.
+     */
+    default @NotNull MongoDatabase getMongoDatabase() {
+        throw new RuntimeException("Attempted to get the mongo database but this api connection does not provide one.");
+    }
+
     /**
      * Used to get the api contract.
      * Contains useful methods that will be filled out.
@@ -84,6 +101,13 @@ public interface MineManiaAPI {
      */
     @NotNull <T extends Event> CompletableResultSet<T> callEvent(T event);
 
+    /**
+     * Used to close the connections this api has opened.
+     * This should be called when the plugin is disabled.
+     */
+    default void shutdown() {
+    }
+
     /**
      * Used to get the instance of the
      * api connection.
@@ -28,12 +28,16 @@ import com.github.minemaniauk.api.database.collection.ArenaCollection;
 import com.github.minemaniauk.api.database.collection.GameRoomCollection;
 import com.github.minemaniauk.api.database.collection.GameRoomInviteCollection;
 import com.github.minemaniauk.api.database.collection.UserCollection;
+import com.github.minemaniauk.api.game.AsyncGameManager;
 import com.github.minemaniauk.api.game.GameManager;
 import com.github.smuddgge.squishydatabase.DatabaseCredentials;
 import com.github.smuddgge.squishydatabase.DatabaseFactory;
 import com.github.smuddgge.squishydatabase.console.Console;
 import com.github.smuddgge.squishydatabase.interfaces.Database;
 import com.github.squishylib.configuration.Configuration;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -52,6 +56,8 @@ public class MineManiaAPIAdapter implements MineManiaAPI {
     private final @NotNull MineManiaAPIContract contract;
     private final @NotNull KerbClient client;
     private final @NotNull Database database;
+    private final @NotNull MongoClient mongoClient;
+    private final @NotNull MongoDatabase mongoDatabase;
     private final @NotNull GameManager gameManager;
 
     /**
@@ -87,18 +93,87 @@ public class MineManiaAPIAdapter implements MineManiaAPI {
                     configuration.getString("database.database_name")
             )).setup();
 
+            // Create the instance of the mongo database.
+            // The database library does not expose its mongo client, so this
+            // is a second connection pool. It is created from the same connection
+            // string, so pool options such as maxPoolSize apply to both pools.
+            this.mongoClient = MongoClients.create(configuration.getString("database.connection_string"));
+            this.mongoDatabase = this.mongoClient.getDatabase(configuration.getString("database.database_name"));
+
             // Set up the tables.
-            this.database.createTable(new UserCollection());
+            this.database.createTable(new UserCollection()
+                    .setCacheMaximumSize(configuration.getInteger("user_cache.maximum_size", 10000))
+                    .setCacheExpiry(Duration.ofSeconds(configuration.getInteger("user_cache.expiry_seconds", 30)))
+                    .setMissingCacheExpiry(Duration.ofSeconds(configuration.getInteger("user_cache.missing_expiry_seconds", 5)))
+            );
             this.database.createTable(new GameRoomInviteCollection());
             this.database.createTable(new GameRoomCollection());
             this.database.createTable(new ArenaCollection());
 
             // Set up the game manager.
-            this.gameManager = new GameManager(this);
+            this.gameManager = new GameManager(this, AsyncGameManager.createExecutor(
+                    configuration.getInteger("game_manager.async.threads", 4),
+                    configuration.getInteger("game_manager.async.queue_size", 1000),
+                    configuration.getBoolean("game_manager.async.virtual_threads", false)
+            ));
+            this.gameManager.getArenaCache().setExpiry(Duration.ofSeconds(
+                    configuration.getInteger("game_manager.arena_cache_expiry_seconds", 60)
+            ));
+            this.gameManager.setArenaLeaseDuration(Duration.ofSeconds(
+                    configuration.getInteger("game_manager.arena_lease_seconds", 30)
+            ));
+            this.gameManager.setInviteExpiry(Duration.ofSeconds(
+                    configuration.getInteger("game_manager.invite_expiry_seconds", 300)
+            ));
+            this.gameManager.getInviteInbox()
+                    .setMaxPlayers(configuration.getInteger("game_manager.invite_inbox.max_players", 1000))
+                    .setMaxInvitesPerPlayer(configuration.getInteger("game_manager.invite_inbox.max_invites_per_player", 50))
+                    .setIdleExpiry(Duration.ofSeconds(
+                            configuration.getInteger("game_manager.invite_inbox.idle_expiry_seconds", 600)
+                    ));
+            this.gameManager.getRoomSweeper()
+                    .setMaxRoomsPerRun(configuration.getInteger("game_manager.room_sweeper.max_rooms_per_run", 500))
+                    .setBatchSize(configuration.getInteger("game_manager.room_sweeper.batch_size", 100))
+                    .setMaxRunDuration(Duration.ofSeconds(
+                            configuration.getInteger("game_manager.room_sweeper.max_run_seconds", 10)
+                    ));
 
             // Set the instance of the mine mania api.
             MineManiaAPIAdapter.setInstance(this);
 
+            // Set up the indexes.
+            this.database.getTable(UserCollection.class).createIndexes();
+            this.database.getTable(ArenaCollection.class).createIndexes();
+            this.database.getTable(GameRoomCollection.class).createIndexes();
+            this.database.getTable(GameRoomInviteCollection.class).createIndexes();
+
+            // Update records saved by older versions.
+            if (configuration.getBoolean("database.run_migrations", true)) {
+                this.database.getTable(GameRoomCollection.class).migratePlayerUuidList();
+                this.database.getTable(GameRoomInviteCollection.class).setMissingExpiry(
+                        System.currentTimeMillis() + this.gameManager.getInviteExpiry().toMillis()
+                );
+            } else {
+                Console.log("Warning: Database migrations are disabled. Game rooms saved by older versions "
+                        + "will use slower player lookups until database.run_migrations is enabled.");
+            }
+
+            // Load the game room cache.
+            this.database.getTable(GameRoomCollection.class).loadCache();
+            this.gameManager.setGameRoomCacheRefreshInterval(Duration.ofSeconds(
+                    configuration.getInteger("game_manager.game_room_cache.refresh_seconds", 60)
+            ));
+
+            // Start publishing the room lists.
+            this.gameManager.setRoomListPublishInterval(Duration.ofMillis(
+                    configuration.getInteger("game_manager.room_list.publish_interval_millis", 0)
+            ));
+
+            // Start the game room sweeper.
+            this.gameManager.setRoomSweeperInterval(Duration.ofSeconds(
+                    configuration.getInteger("game_manager.room_sweeper.interval_seconds", 0)
+            ));
+
         } catch (Exception exception) {
             Console.log("Client Name: " + configuration.getString("kerb.client_name"));
             Console.log("Server Port: " + configuration.getInteger("kerb.server_port"));
@@ -129,6 +204,11 @@ public class MineManiaAPIAdapter implements MineManiaAPI {
         return this.database;
     }
 
+    @Override
+    public @NotNull MongoDatabase getMongoDatabase() {
+        return this.mongoDatabase;
+    }
+
     @Override
     public @NotNull MineManiaAPIContract getContract() {
         return this.contract;
@@ -144,6 +224,12 @@ public class MineManiaAPIAdapter implements MineManiaAPI {
         return this.client.callEvent(event);
     }
 
+    @Override
+    public void shutdown() {
+        this.gameManager.shutdown();
+        this.mongoClient.close();
+    }
+
     /**
      * Used to get the list of active api connections.
      *
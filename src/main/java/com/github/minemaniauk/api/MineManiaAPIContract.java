@@ -28,6 +28,9 @@ import com.github.minemaniauk.api.user.MineManiaUser;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -64,6 +67,26 @@ public interface MineManiaAPIContract extends EventListener<Event> {
      */
     @NotNull MineManiaUser getUser(@NotNull String name);
 
+    /**
+     * Used to get a list of mine mania users from the players uuids.
+     * The users are returned in the same order as the uuids.
+     * <li>
+     * By default, this will call {@link #getUser(UUID)} for each uuid.
+     * Implementations that look up users remotely should override this
+     * to resolve the users in a single request.
+     * </li>
+     *
+     * @param uuids The uuids of the players.
+     * @return The list of mine mania users.
+     */
+    default @NotNull List<MineManiaUser> getUsers(@NotNull Collection<UUID> uuids) {
+        final List<MineManiaUser> list = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            list.add(this.getUser(uuid));
+        }
+        return list;
+    }
+
     /**
      * Called when a server wants to check a users permissions.
      *
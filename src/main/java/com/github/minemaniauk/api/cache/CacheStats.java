@@ -0,0 +1,116 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.cache;
+
+/**
+ * Represents the statistics of a cache
+ * at the time they were taken.
+ */
+public class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long expiredCount;
+    private final int size;
+
+    /**
+     * Used to create cache statistics.
+     *
+     * @param hitCount      The number of lookups that found a value.
+     * @param missCount     The number of lookups that did not.
+     * @param evictionCount The number of entries removed to make space.
+     * @param expiredCount  The number of entries removed because they expired.
+     * @param size          The number of entries in the cache.
+     */
+    public CacheStats(long hitCount, long missCount, long evictionCount, long expiredCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expiredCount = expiredCount;
+        this.size = size;
+    }
+
+    /**
+     * Used to get the number of lookups that found a value.
+     *
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Used to get the number of lookups that did not find a value.
+     *
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * Used to get the number of entries removed to make space.
+     *
+     * @return The eviction count.
+     */
+    public long getEvictionCount() {
+        return this.evictionCount;
+    }
+
+    /**
+     * Used to get the number of entries removed because they expired.
+     *
+     * @return The expired count.
+     */
+    public long getExpiredCount() {
+        return this.expiredCount;
+    }
+
+    /**
+     * Used to get the number of entries in the cache.
+     *
+     * @return The size of the cache.
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Used to get the fraction of lookups
+     * that found a value.
+     *
+     * @return The hit rate between 0 and 1.
+     */
+    public double getHitRate() {
+        final long requestCount = this.hitCount + this.missCount;
+        return requestCount == 0 ? 1 : (double) this.hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + this.hitCount
+                + ", misses=" + this.missCount
+                + ", evictions=" + this.evictionCount
+                + ", expired=" + this.expiredCount
+                + ", size=" + this.size + "}";
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a count-min sketch that estimates
+ * how often each key has been used recently.
+ * <li>
+ * Each key is counted in four rows of byte counters that
+ * stop at 15, and the smallest of its counters is
+ * the estimate. Once the
+ * number of additions reaches the sample size every
+ * counter is halved, so old use counts for less.
+ * </li>
+ */
+class FrequencySketch {
+
+    private static final int[] SEEDS = {0x97cb3127, 0xbe5a69e5, 0x5b7b8f3d, 0x2c1b3c6d};
+    private static final int MAX_COUNT = 15;
+
+    private final @NotNull byte[][] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * Used to create a frequency sketch.
+     *
+     * @param maximumSize The most entries the cache will hold.
+     */
+    FrequencySketch(int maximumSize) {
+        final int width = Integer.highestOneBit(Math.max(16, maximumSize) * 2 - 1);
+        this.table = new byte[SEEDS.length][width];
+        this.mask = width - 1;
+        this.sampleSize = Math.max(10, maximumSize * 10);
+    }
+
+    /**
+     * Used to get the estimated number of
+     * times a key has been used.
+     *
+     * @param key The key.
+     * @return The estimated frequency, at most 15.
+     */
+    int frequency(@NotNull Object key) {
+        final int hash = this.spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < SEEDS.length; row++) {
+            frequency = Math.min(frequency, this.table[row][this.index(hash, row)]);
+        }
+        return frequency;
+    }
+
+    /**
+     * Used to count a use of a key.
+     *
+     * @param key The key.
+     */
+    void increment(@NotNull Object key) {
+        final int hash = this.spread(key.hashCode());
+        for (int row = 0; row < SEEDS.length; row++) {
+            final int index = this.index(hash, row);
+            if (this.table[row][index] < MAX_COUNT) this.table[row][index]++;
+        }
+
+        if (++this.additions >= this.sampleSize) this.reset();
+    }
+
+    /**
+     * Used to halve every counter.
+     */
+    private void reset() {
+        for (byte[] row : this.table) {
+            for (int index = 0; index < row.length; index++) {
+                row[index] = (byte) (row[index] >>> 1);
+            }
+        }
+        this.additions /= 2;
+    }
+
+    private int index(int hash, int row) {
+        int value = hash * SEEDS[row];
+        value ^= value >>> 17;
+        return value & this.mask;
+    }
+
+    private int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        return hash ^ (hash >>> 16);
+    }
+}
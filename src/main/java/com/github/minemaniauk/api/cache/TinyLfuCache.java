@@ -0,0 +1,297 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Represents a bounded cache that decides which entries
+ * to keep by how often they are used (W-TinyLFU).
+ * <li>
+ * New entries go into a small window. When the window is full
+ * its oldest entry competes with the oldest entry of the main
+ * space, and the one the {@link FrequencySketch} has seen
+ * used more often is kept. Entries used again in the main
+ * space are protected from being removed first.
+ * </li>
+ * <li>
+ * Each entry has its own time to live and is treated
+ * as missing once it has expired.
+ * </li>
+ *
+ * @param <K> The type of key.
+ * @param <V> The type of value.
+ */
+public class TinyLfuCache<K, V> {
+
+    private final int maximumSize;
+    private final int windowCapacity;
+    private final int mainCapacity;
+    private final int protectedCapacity;
+
+    private final @NotNull Map<K, Node<K, V>> nodeMap;
+    private final @NotNull LinkedHashMap<K, Node<K, V>> windowMap;
+    private final @NotNull LinkedHashMap<K, Node<K, V>> probationMap;
+    private final @NotNull LinkedHashMap<K, Node<K, V>> protectedMap;
+    private final @NotNull FrequencySketch sketch;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long expiredCount;
+
+    /**
+     * Represents the part of the cache an entry is in.
+     */
+    private enum Segment {
+        WINDOW, PROBATION, PROTECTED
+    }
+
+    /**
+     * Represents a single entry in the cache.
+     */
+    private static class Node<K, V> {
+
+        private final @NotNull K key;
+        private @NotNull V value;
+        private long expireAtMillis;
+        private @NotNull Segment segment;
+
+        private Node(@NotNull K key, @NotNull V value, long expireAtMillis) {
+            this.key = key;
+            this.value = value;
+            this.expireAtMillis = expireAtMillis;
+            this.segment = Segment.WINDOW;
+        }
+
+        private boolean hasExpired(long now) {
+            return this.expireAtMillis <= now;
+        }
+    }
+
+    /**
+     * Used to create a new cache.
+     *
+     * @param maximumSize The most entries the cache will hold.
+     */
+    public TinyLfuCache(int maximumSize) {
+        this.maximumSize = Math.max(2, maximumSize);
+        this.windowCapacity = Math.max(1, this.maximumSize / 100);
+        this.mainCapacity = this.maximumSize - this.windowCapacity;
+        this.protectedCapacity = (int) (this.mainCapacity * 0.8);
+
+        this.nodeMap = new HashMap<>();
+        this.windowMap = new LinkedHashMap<>();
+        this.probationMap = new LinkedHashMap<>();
+        this.protectedMap = new LinkedHashMap<>();
+        this.sketch = new FrequencySketch(this.maximumSize);
+    }
+
+    /**
+     * Used to get the most entries the cache will hold.
+     *
+     * @return The maximum size.
+     */
+    public int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    /**
+     * Used to get a value from the cache.
+     *
+     * @param key The key.
+     * @return The value or null if it is not cached or has expired.
+     */
+    public synchronized @Nullable V get(@NotNull K key) {
+        this.sketch.increment(key);
+
+        final Node<K, V> node = this.nodeMap.get(key);
+        if (node == null) {
+            this.missCount++;
+            return null;
+        }
+
+        if (node.hasExpired(System.currentTimeMillis())) {
+            this.remove(node);
+            this.expiredCount++;
+            this.missCount++;
+            return null;
+        }
+
+        this.hitCount++;
+        this.onAccess(node);
+        return node.value;
+    }
+
+    /**
+     * Used to add a value to the cache.
+     * This may cause another entry, or this one,
+     * to be removed to keep the cache within its size.
+     *
+     * @param key        The key.
+     * @param value      The value.
+     * @param timeToLive How long the value should be kept.
+     */
+    public synchronized void put(@NotNull K key, @NotNull V value, @NotNull Duration timeToLive) {
+        final long expireAtMillis = System.currentTimeMillis() + timeToLive.toMillis();
+
+        final Node<K, V> existing = this.nodeMap.get(key);
+        if (existing != null) {
+            existing.value = value;
+            existing.expireAtMillis = expireAtMillis;
+            this.onAccess(existing);
+            return;
+        }
+
+        final Node<K, V> node = new Node<>(key, value, expireAtMillis);
+        this.nodeMap.put(key, node);
+        this.windowMap.put(key, node);
+        if (this.windowMap.size() <= this.windowCapacity) return;
+
+        // Move the oldest entry in the window to the main space.
+        final Node<K, V> candidate = this.windowMap.values().iterator().next();
+        this.windowMap.remove(candidate.key);
+        this.admit(candidate);
+    }
+
+    /**
+     * Used to remove a value from the cache.
+     *
+     * @param key The key.
+     */
+    public synchronized void invalidate(@NotNull K key) {
+        final Node<K, V> node = this.nodeMap.get(key);
+        if (node != null) this.remove(node);
+    }
+
+    /**
+     * Used to remove every value from the cache.
+     */
+    public synchronized void invalidateAll() {
+        this.nodeMap.clear();
+        this.windowMap.clear();
+        this.probationMap.clear();
+        this.protectedMap.clear();
+    }
+
+    /**
+     * Used to get the number of entries in the cache,
+     * including entries that have expired but
+     * have not been removed yet.
+     *
+     * @return The number of entries.
+     */
+    public synchronized int size() {
+        return this.nodeMap.size();
+    }
+
+    /**
+     * Used to get the statistics of this cache.
+     *
+     * @return The cache statistics.
+     */
+    public synchronized @NotNull CacheStats getStats() {
+        return new CacheStats(this.hitCount, this.missCount, this.evictionCount, this.expiredCount, this.nodeMap.size());
+    }
+
+    /**
+     * Called when an entry has been used.
+     *
+     * @param node The entry.
+     */
+    private void onAccess(@NotNull Node<K, V> node) {
+        switch (node.segment) {
+            case WINDOW -> {
+                this.windowMap.remove(node.key);
+                this.windowMap.put(node.key, node);
+            }
+            case PROTECTED -> {
+                this.protectedMap.remove(node.key);
+                this.protectedMap.put(node.key, node);
+            }
+            case PROBATION -> {
+                this.probationMap.remove(node.key);
+                node.segment = Segment.PROTECTED;
+                this.protectedMap.put(node.key, node);
+
+                // Move the oldest protected entry back to probation.
+                if (this.protectedMap.size() > this.protectedCapacity) {
+                    final Node<K, V> demoted = this.protectedMap.values().iterator().next();
+                    this.protectedMap.remove(demoted.key);
+                    demoted.segment = Segment.PROBATION;
+                    this.probationMap.put(demoted.key, demoted);
+                }
+            }
+        }
+    }
+
+    /**
+     * Used to add an entry leaving the window to the main space.
+     * If the main space is full, the candidate and the oldest
+     * probation entry compete and the less used one is removed.
+     *
+     * @param candidate The entry leaving the window.
+     */
+    private void admit(@NotNull Node<K, V> candidate) {
+        candidate.segment = Segment.PROBATION;
+        this.probationMap.put(candidate.key, candidate);
+        if (this.probationMap.size() + this.protectedMap.size() <= this.mainCapacity) return;
+
+        Node<K, V> victim = this.probationMap.values().iterator().next();
+        if (victim == candidate && !this.protectedMap.isEmpty()) {
+            victim = this.protectedMap.values().iterator().next();
+        }
+
+        // Expired entries are removed without competing.
+        final long now = System.currentTimeMillis();
+        if (victim.hasExpired(now) && victim != candidate) {
+            this.remove(victim);
+            this.expiredCount++;
+            return;
+        }
+
+        final boolean keepCandidate = victim != candidate
+                && this.sketch.frequency(candidate.key) > this.sketch.frequency(victim.key);
+
+        this.remove(keepCandidate ? victim : candidate);
+        this.evictionCount++;
+    }
+
+    /**
+     * Used to remove an entry from the cache.
+     *
+     * @param node The entry.
+     */
+    private void remove(@NotNull Node<K, V> node) {
+        this.nodeMap.remove(node.key);
+        switch (node.segment) {
+            case WINDOW -> this.windowMap.remove(node.key);
+            case PROBATION -> this.probationMap.remove(node.key);
+            case PROTECTED -> this.protectedMap.remove(node.key);
+        }
+    }
+}
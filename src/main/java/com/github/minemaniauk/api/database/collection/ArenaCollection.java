@@ -21,16 +21,235 @@
 package com.github.minemaniauk.api.database.collection;
 
 import com.github.minemaniauk.api.database.record.ArenaRecord;
-import com.github.smuddgge.squishydatabase.interfaces.TableAdapter;
+import com.github.minemaniauk.api.game.GameType;
+import com.mongodb.client.model.*;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
 
 /**
  * Represents the arena collection.
  */
-public class ArenaCollection extends TableAdapter<ArenaRecord> {
+public class ArenaCollection extends MongoTableAdapter<ArenaRecord> {
 
     @Override
     public @NotNull String getName() {
         return "arenas";
     }
+
+    @Override
+    public void createIndexes() {
+        this.getMongoCollection().createIndex(Indexes.ascending("identifier"));
+        this.getMongoCollection().createIndex(Indexes.ascending("gameType", "gameRoomIdentifier"));
+    }
+
+    /**
+     * Used to insert or replace many arena records
+     * in one batched write.
+     *
+     * @param recordList The records to insert.
+     */
+    public void insertArenas(@NotNull Collection<ArenaRecord> recordList) {
+        if (recordList.isEmpty()) return;
+
+        final List<WriteModel<Document>> writeList = new ArrayList<>();
+        for (ArenaRecord record : recordList) {
+            writeList.add(new ReplaceOneModel<>(
+                    Filters.eq("identifier", record.identifier),
+                    record.asDocument(),
+                    new ReplaceOptions().upsert(true)
+            ));
+        }
+
+        this.getMongoCollection().bulkWrite(writeList);
+    }
+
+    /**
+     * Used to renew the lease of many arenas
+     * in one batched write.
+     *
+     * @param identifiers The identifiers of the arenas.
+     * @param leaseExpiry The time in milliseconds the leases will expire.
+     * @return The number of arenas that were found.
+     * This will be less than the number of identifiers
+     * if some of the arenas no longer exist.
+     */
+    public long renewLeases(@NotNull Collection<UUID> identifiers, long leaseExpiry) {
+        if (identifiers.isEmpty()) return 0;
+
+        return this.getMongoCollection().updateMany(
+                Filters.in("identifier", identifiers.stream().map(UUID::toString).toList()),
+                Updates.set("leaseExpiry", leaseExpiry)
+        ).getMatchedCount();
+    }
+
+    /**
+     * Used to remove every arena whose lease has expired.
+     * The lease is checked again when deleting, so an arena
+     * renewed after it was found is not removed.
+     *
+     * @return The identifiers of the arenas that were removed.
+     */
+    public @NotNull List<UUID> removeExpiredArenas() {
+        final long now = System.currentTimeMillis();
+        final List<UUID> identifiers = new ArrayList<>();
+        for (Document document : this.getMongoCollection()
+                .find(this.getExpiredFilter(now))
+                .projection(Projections.include("identifier"))) {
+
+            identifiers.add(UUID.fromString(document.getString("identifier")));
+        }
+
+        if (identifiers.isEmpty()) return identifiers;
+
+        this.getMongoCollection().deleteMany(Filters.and(
+                Filters.in("identifier", identifiers.stream().map(UUID::toString).toList()),
+                this.getExpiredFilter(now)
+        ));
+
+        // Only report the arenas that are gone.
+        final Set<UUID> existing = this.getExistingIdentifiers(identifiers);
+        return identifiers.stream().filter(identifier -> !existing.contains(identifier)).toList();
+    }
+
+    /**
+     * Used to get the arena records of a game type
+     * without their display items, which are the
+     * largest part of each record.
+     *
+     * @param gameType The game type to filter.
+     * @return The list of arena records.
+     */
+    public @NotNull List<ArenaRecord> getArenaListWithoutDisplayItems(@NotNull GameType gameType) {
+        final List<ArenaRecord> recordList = new ArrayList<>();
+        for (Document document : this.getMongoCollection()
+                .find(Filters.eq("gameType", gameType.name()))
+                .projection(Projections.exclude("displayItemSection"))) {
+
+            recordList.add(ArenaRecord.fromDocument(document));
+        }
+        return recordList;
+    }
+
+    /**
+     * Used to get the display item of an arena.
+     *
+     * @param identifier The arena's identifier.
+     * @return The display item json or null if
+     * the arena does not have one.
+     */
+    public @Nullable String getDisplayItemJson(@NotNull UUID identifier) {
+        final Document document = this.getMongoCollection()
+                .find(Filters.eq("identifier", identifier.toString()))
+                .projection(Projections.include("displayItemSection"))
+                .first();
+
+        return document == null ? null : document.getString("displayItemSection");
+    }
+
+    /**
+     * Used to get which of the given arenas
+     * still exist with one query.
+     *
+     * @param identifiers The identifiers of the arenas.
+     * @return The identifiers of the arenas that exist.
+     */
+    public @NotNull Set<UUID> getExistingIdentifiers(@NotNull Collection<UUID> identifiers) {
+        final Set<UUID> existing = new HashSet<>();
+        if (identifiers.isEmpty()) return existing;
+
+        for (Document document : this.getMongoCollection()
+                .find(Filters.in("identifier", identifiers.stream().map(UUID::toString).toList()))
+                .projection(Projections.include("identifier"))) {
+
+            existing.add(UUID.fromString(document.getString("identifier")));
+        }
+        return existing;
+    }
+
+    /**
+     * Used to update only some fields of an arena record.
+     *
+     * @param identifier The arena's identifier.
+     * @param fields     The fields to set.
+     */
+    public void updateArena(@NotNull UUID identifier, @NotNull Document fields) {
+        this.getMongoCollection().updateOne(
+                Filters.eq("identifier", identifier.toString()),
+                new Document("$set", fields)
+        );
+    }
+
+    /**
+     * Used to remove many arena records in one query.
+     *
+     * @param identifiers The identifiers of the arenas to remove.
+     */
+    public void removeArenas(@NotNull Collection<UUID> identifiers) {
+        if (identifiers.isEmpty()) return;
+
+        this.getMongoCollection().deleteMany(Filters.in(
+                "identifier",
+                identifiers.stream().map(UUID::toString).toList()
+        ));
+    }
+
+    /**
+     * Used to find an available arena and reserve it
+     * for a game room in one conditional update.
+     * The arena is only updated if it has no game room,
+     * so two servers can never claim the same arena.
+     *
+     * @param gameType     The game type to filter.
+     * @param players      The number of players.
+     * @param gameRoomUuid The game room to reserve the arena for.
+     * @return The claimed arena record or null if none are available.
+     */
+    public @Nullable ArenaRecord claimArena(@NotNull GameType gameType, int players, @NotNull UUID gameRoomUuid) {
+        final Document document = this.getMongoCollection().findOneAndUpdate(
+                Filters.and(
+                        Filters.eq("gameType", gameType.name()),
+                        Filters.eq("gameRoomIdentifier", null),
+                        this.getLiveFilter(),
+                        Filters.lte("minPlayers", players),
+                        Filters.gte("maxPlayers", players)
+                ),
+                Updates.set("gameRoomIdentifier", gameRoomUuid.toString()),
+                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER)
+        );
+
+        if (document == null) return null;
+        return ArenaRecord.fromDocument(document);
+    }
+
+    /**
+     * Used to get the filter that matches
+     * arenas with an expired lease.
+     *
+     * @param now The current time in milliseconds.
+     * @return The filter.
+     */
+    private @NotNull Bson getExpiredFilter(long now) {
+        return Filters.and(
+                Filters.gt("leaseExpiry", 0L),
+                Filters.lt("leaseExpiry", now)
+        );
+    }
+
+    /**
+     * Used to get the filter that matches arenas
+     * without a lease or with a lease that has not expired.
+     *
+     * @return The filter.
+     */
+    private @NotNull Bson getLiveFilter() {
+        return Filters.or(
+                Filters.exists("leaseExpiry", false),
+                Filters.lte("leaseExpiry", 0L),
+                Filters.gte("leaseExpiry", System.currentTimeMillis())
+        );
+    }
 }
@@ -20,70 +20,704 @@
 
 package com.github.minemaniauk.api.database.collection;
 
+import com.github.kerbity.kerb.packet.event.Event;
+import com.github.minemaniauk.api.MineManiaAPI;
 import com.github.minemaniauk.api.database.record.GameRoomRecord;
+import com.github.minemaniauk.api.database.view.GameRoomMembershipView;
+import com.github.minemaniauk.api.database.view.GameRoomSnapshot;
+import com.github.minemaniauk.api.game.GameRoomCache;
+import com.github.minemaniauk.api.game.GameType;
+import com.github.minemaniauk.api.kerb.event.gameroom.GameRoomDeleteEvent;
+import com.github.minemaniauk.api.kerb.event.gameroom.GameRoomUpdateEvent;
 import com.github.smuddgge.squishydatabase.Query;
-import com.github.smuddgge.squishydatabase.interfaces.TableAdapter;
+import com.github.smuddgge.squishydatabase.console.Console;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.*;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Represents the game room collection.
  * A collection of game room records.
+ * <li>
+ * Game rooms are read from the {@link GameRoomCache} when
+ * possible and the cache is updated when game rooms are written.
+ * Saves send a {@link GameRoomUpdateEvent} and deletes send a
+ * {@link GameRoomDeleteEvent} so other servers update their cache.
+ * </li>
+ * <li>
+ * Players can join and leave a game room with one conditional
+ * write using {@link #joinGameRoom(UUID, UUID, int)} and
+ * {@link #leaveGameRoom(UUID, UUID)}.
+ * </li>
  */
-public class GameRoomCollection extends TableAdapter<GameRoomRecord> {
+public class GameRoomCollection extends MongoTableAdapter<GameRoomRecord> {
+
+    /**
+     * The update stage used to rebuild the comma separated
+     * player_uuids field from the player array.
+     */
+    private static final @NotNull Bson PLAYER_UUIDS_STAGE = new Document("$set", new Document("player_uuids",
+            new Document("$reduce", new Document("input", "$player_uuid_list")
+                    .append("initialValue", "")
+                    .append("in", new Document("$cond", List.of(
+                            new Document("$eq", List.of("$$value", "")),
+                            "$$this",
+                            new Document("$concat", List.of("$$value", ",", "$$this"))
+                    )))
+            )
+    ));
+
+    /**
+     * The most times {@link #updateGameRoom(UUID, Consumer)}
+     * will read and save a game room.
+     */
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
+
+    private final @NotNull GameRoomCache cache = new GameRoomCache(this);
 
     @Override
     public @NotNull String getName() {
         return "gamerooms";
     }
 
+    @Override
+    public void createIndexes() {
+        this.getMongoCollection().createIndex(Indexes.ascending("uuid"));
+        this.getMongoCollection().createIndex(Indexes.ascending("owner_uuid"));
+        this.getMongoCollection().createIndex(Indexes.ascending("player_uuid_list"));
+        this.getMongoCollection().createIndex(Indexes.ascending("game_type", "is_private", "uuid"));
+    }
+
+    /**
+     * Used to add the player array to game rooms saved
+     * before it existed, by splitting their player_uuids
+     * field in one update.
+     *
+     * @return The number of game rooms updated.
+     */
+    public long migratePlayerUuidList() {
+        return this.getMongoCollection().updateMany(
+                Filters.exists("player_uuid_list", false),
+                List.of(new Document("$set", new Document("player_uuid_list",
+                        new Document("$filter", new Document("input", new Document("$split", List.of(
+                                new Document("$ifNull", List.of("$player_uuids", "")), ","
+                        )))
+                                .append("cond", new Document("$ne", List.of("$$this", ""))))
+                )))
+        ).getModifiedCount();
+    }
+
+    /**
+     * Used to insert or update a game room record,
+     * replacing any change made since it was read.
+     * The version is increased by the database.
+     * <li>
+     * Once saved, a {@link GameRoomUpdateEvent} is sent
+     * so other servers update their cache.
+     * </li>
+     *
+     * @param record The instance of the game room record.
+     */
+    public void replaceGameRoom(@NotNull GameRoomRecord record) {
+        final Document fields = record.asDocument();
+        fields.remove("version");
+
+        final Document document = this.getMongoCollection().findOneAndUpdate(
+                Filters.eq("uuid", record.uuid),
+                new Document("$set", fields).append("$inc", new Document("version", 1L)),
+                new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER)
+        );
+
+        if (document != null) this.onSaved(record, document);
+    }
+
+    /**
+     * Used to insert or update a game room record.
+     * The game room is only updated if its version in the
+     * database is still the version of the record, and the
+     * version is then increased by the database.
+     * <li>
+     * If the game room has changed since the record was read,
+     * nothing is written and the cache is refreshed from the
+     * database. The game room should then be fetched again
+     * and the change applied to the new record, which
+     * {@link #updateGameRoom(UUID, Consumer)} does.
+     * </li>
+     * <li>
+     * Once saved, a {@link GameRoomUpdateEvent} is sent
+     * so other servers update their cache.
+     * </li>
+     *
+     * @param record The instance of the game room record.
+     * @return False if the game room was changed by someone else.
+     */
+    public boolean saveGameRoom(@NotNull GameRoomRecord record) {
+        final Document fields = record.asDocument();
+        fields.remove("version");
+
+        final Document document = this.getMongoCollection().findOneAndUpdate(
+                Filters.and(Filters.eq("uuid", record.uuid), this.getVersionFilter(record.version)),
+                new Document("$set", fields).append("$inc", new Document("version", 1L)),
+                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER)
+        );
+
+        if (document != null) {
+            this.onSaved(record, document);
+            return true;
+        }
+
+        // Check if the game room has been changed by someone else.
+        if (record.version != 0 || !this.getExistingGameRoomUuids(List.of(record.getUuid())).isEmpty()) {
+            this.fetchGameRoom(record.getUuid());
+            return false;
+        }
+
+        record.version = 1;
+        this.getMongoCollection().insertOne(record.asDocument());
+        this.cache.put(new GameRoomSnapshot(record));
+        this.callEvent(new GameRoomUpdateEvent(record));
+        return true;
+    }
+
+    /**
+     * Used to change a game room and save it, reading it again
+     * and reapplying the change if it was changed by someone else.
+     * The change may be applied more than once, so it
+     * should only change the record it is given.
+     *
+     * @param gameRoomUuid The game room's uuid.
+     * @param change       The change to apply to the game room.
+     * @return The saved game room record or empty if the game
+     * room does not exist or kept being changed by someone else.
+     */
+    public @NotNull Optional<GameRoomRecord> updateGameRoom(@NotNull UUID gameRoomUuid, @NotNull Consumer<GameRoomRecord> change) {
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            final Optional<GameRoomRecord> record = this.fetchGameRoom(gameRoomUuid);
+            if (record.isEmpty()) return Optional.empty();
+
+            change.accept(record.get());
+            if (this.saveGameRoom(record.get())) return record;
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Used to update a record and the cache
+     * once the record has been saved.
+     *
+     * @param record   The instance of the saved record.
+     * @param document The saved document.
+     */
+    private void onSaved(@NotNull GameRoomRecord record, @NotNull Document document) {
+        final GameRoomRecord saved = GameRoomRecord.fromDocument(document);
+        record.version = saved.version;
+        this.cache.put(new GameRoomSnapshot(saved));
+        this.callEvent(new GameRoomUpdateEvent(saved));
+    }
+
+    /**
+     * Used to delete a game room.
+     * A {@link GameRoomDeleteEvent} is sent so
+     * other servers remove it from their cache.
+     *
+     * @param gameRoomUuid The game room's uuid.
+     * @return True if the game room was deleted.
+     */
+    public boolean deleteGameRoom(@NotNull UUID gameRoomUuid) {
+        final boolean deleted = this.getMongoCollection()
+                .deleteOne(Filters.eq("uuid", gameRoomUuid.toString()))
+                .getDeletedCount() > 0;
+
+        this.cache.onDelete(gameRoomUuid);
+        if (deleted) this.callEvent(new GameRoomDeleteEvent(gameRoomUuid));
+        return deleted;
+    }
+
+    @Override
+    public boolean removeRecord(@NotNull GameRoomRecord record) {
+        final boolean removed = super.removeRecord(record);
+        this.cache.onDelete(record.getUuid());
+        if (removed) this.callEvent(new GameRoomDeleteEvent(record.getUuid()));
+        return removed;
+    }
+
+    @Override
+    public boolean removeAllRecords(@NotNull Query query) {
+        final List<UUID> gameRoomUuids = this.getRecordList(query).stream()
+                .map(GameRoomRecord::getUuid)
+                .toList();
+
+        final boolean removed = super.removeAllRecords(query);
+        if (gameRoomUuids.isEmpty()) return removed;
+
+        // Only report the game rooms that are gone.
+        final Set<UUID> existing = this.getExistingGameRoomUuids(gameRoomUuids);
+        final List<UUID> deletedList = gameRoomUuids.stream()
+                .filter(gameRoomUuid -> !existing.contains(gameRoomUuid))
+                .toList();
+
+        for (UUID gameRoomUuid : deletedList) {
+            this.cache.onDelete(gameRoomUuid);
+        }
+        if (!deletedList.isEmpty()) this.callEvent(new GameRoomDeleteEvent(deletedList));
+        return removed;
+    }
+
+    /**
+     * Used to delete many game rooms with one query.
+     * A game room is only deleted if its version has not
+     * changed since the view was read, so a game room a
+     * player has joined since is kept.
+     * A {@link GameRoomDeleteEvent} is sent so other
+     * servers remove them from their cache.
+     *
+     * @param viewList The views of the game rooms to delete.
+     * @return The uuids of the game rooms that no longer exist.
+     */
+    public @NotNull List<UUID> deleteGameRooms(@NotNull List<GameRoomMembershipView> viewList) {
+        if (viewList.isEmpty()) return List.of();
+
+        final List<Bson> filterList = new ArrayList<>();
+        final List<UUID> gameRoomUuids = new ArrayList<>();
+        for (GameRoomMembershipView view : viewList) {
+            filterList.add(Filters.and(
+                    Filters.eq("uuid", view.getUuid().toString()),
+                    this.getVersionFilter(view.getVersion())
+            ));
+            gameRoomUuids.add(view.getUuid());
+        }
+
+        this.getMongoCollection().deleteMany(Filters.or(filterList));
+
+        // Only report the game rooms that are gone.
+        final Set<UUID> existing = this.getExistingGameRoomUuids(gameRoomUuids);
+        final List<UUID> deletedList = new ArrayList<>();
+        for (UUID gameRoomUuid : gameRoomUuids) {
+            if (existing.contains(gameRoomUuid)) continue;
+            this.cache.onDelete(gameRoomUuid);
+            deletedList.add(gameRoomUuid);
+        }
+
+        if (!deletedList.isEmpty()) this.callEvent(new GameRoomDeleteEvent(deletedList));
+        return deletedList;
+    }
+
+    /**
+     * Used to get which of the given game rooms
+     * still exist with one query.
+     *
+     * @param gameRoomUuids The uuids of the game rooms.
+     * @return The uuids of the game rooms that exist.
+     */
+    public @NotNull Set<UUID> getExistingGameRoomUuids(@NotNull Collection<UUID> gameRoomUuids) {
+        final Set<UUID> existing = new HashSet<>();
+        if (gameRoomUuids.isEmpty()) return existing;
+
+        for (Document document : this.getMongoCollection()
+                .find(Filters.in("uuid", gameRoomUuids.stream().map(UUID::toString).toList()))
+                .projection(Projections.include("uuid"))) {
+
+            existing.add(UUID.fromString(document.getString("uuid")));
+        }
+        return existing;
+    }
+
+    /**
+     * Used to load every game room into the cache with one query.
+     */
+    public void loadCache() {
+        this.cache.load(this.getSnapshots());
+    }
+
+    /**
+     * Used to bring the cache up to date with the database
+     * with one query, in case an event was missed.
+     * Game rooms that have not changed are left alone.
+     */
+    public void refreshCache() {
+        final long startTimeMillis = System.currentTimeMillis();
+        this.cache.reconcile(this.getSnapshots(), startTimeMillis);
+    }
+
+    /**
+     * Used to read a snapshot of every game room.
+     *
+     * @return The list of snapshots.
+     */
+    private @NotNull List<GameRoomSnapshot> getSnapshots() {
+        final List<GameRoomSnapshot> snapshotList = new ArrayList<>();
+        for (Document document : this.getMongoCollection().find()) {
+            snapshotList.add(new GameRoomSnapshot(GameRoomRecord.fromDocument(document)));
+        }
+        return snapshotList;
+    }
+
+    /**
+     * Used to get the cache of game rooms.
+     *
+     * @return The game room cache.
+     */
+    public @NotNull GameRoomCache getCache() {
+        return this.cache;
+    }
+
+    /**
+     * Used to add a player to a game room in a single write.
+     * The player will not be added if they are already in the
+     * game room or if the game room is full.
+     *
+     * @param gameRoomUuid The game room's uuid.
+     * @param playerUuid   The player's uuid.
+     * @param maxPlayers   The most players allowed in the game room.
+     *                     Zero or less for no limit.
+     * @return The updated game room record or empty if the player could not join.
+     */
+    public @NotNull Optional<GameRoomRecord> joinGameRoom(@NotNull UUID gameRoomUuid, @NotNull UUID playerUuid, int maxPlayers) {
+        return this.joinGameRoom(gameRoomUuid, playerUuid, maxPlayers, null);
+    }
+
+    /**
+     * Used to add a player to a game room in a single write.
+     * The player will not be added if they are already in the
+     * game room, if the game room is full or if the game room
+     * has been changed since it was read.
+     *
+     * @param gameRoomUuid    The game room's uuid.
+     * @param playerUuid      The player's uuid.
+     * @param maxPlayers      The most players allowed in the game room.
+     *                        Zero or less for no limit.
+     * @param expectedVersion The version the game room should be on.
+     *                        Null to ignore the version.
+     * @return The updated game room record or empty if the player could not join.
+     */
+    public @NotNull Optional<GameRoomRecord> joinGameRoom(@NotNull UUID gameRoomUuid, @NotNull UUID playerUuid,
+                                                          int maxPlayers, @Nullable Long expectedVersion) {
+
+        final List<Bson> filterList = new ArrayList<>();
+        filterList.add(Filters.eq("uuid", gameRoomUuid.toString()));
+        filterList.add(Filters.ne("player_uuid_list", playerUuid.toString()));
+
+        // The room is full when the array has an element at the last index.
+        if (maxPlayers > 0) filterList.add(Filters.exists("player_uuid_list." + (maxPlayers - 1), false));
+        if (expectedVersion != null) filterList.add(this.getVersionFilter(expectedVersion));
+
+        final Document playerList = new Document("$concatArrays", List.of(
+                new Document("$ifNull", List.of("$player_uuid_list", List.of())),
+                List.of(playerUuid.toString())
+        ));
+
+        final Optional<GameRoomRecord> record = this.updateMembership(Filters.and(filterList), playerList);
+        record.ifPresent(gameRoom -> this.cache.put(new GameRoomSnapshot(gameRoom)));
+        return record;
+    }
+
+    /**
+     * Used to remove a player from a game room in a single write.
+     *
+     * @param gameRoomUuid The game room's uuid.
+     * @param playerUuid   The player's uuid.
+     * @return The updated game room record or empty if the player was not in the game room.
+     */
+    public @NotNull Optional<GameRoomRecord> leaveGameRoom(@NotNull UUID gameRoomUuid, @NotNull UUID playerUuid) {
+        return this.leaveGameRoom(gameRoomUuid, playerUuid, null);
+    }
+
+    /**
+     * Used to remove a player from a game room in a single write.
+     * The player will not be removed if the game room has been
+     * changed since it was read.
+     *
+     * @param gameRoomUuid    The game room's uuid.
+     * @param playerUuid      The player's uuid.
+     * @param expectedVersion The version the game room should be on.
+     *                        Null to ignore the version.
+     * @return The updated game room record or empty if the player could not leave.
+     */
+    public @NotNull Optional<GameRoomRecord> leaveGameRoom(@NotNull UUID gameRoomUuid, @NotNull UUID playerUuid,
+                                                           @Nullable Long expectedVersion) {
+
+        final List<Bson> filterList = new ArrayList<>();
+        filterList.add(Filters.eq("uuid", gameRoomUuid.toString()));
+        filterList.add(Filters.eq("player_uuid_list", playerUuid.toString()));
+        if (expectedVersion != null) filterList.add(this.getVersionFilter(expectedVersion));
+
+        final Document playerList = new Document("$filter", new Document("input", "$player_uuid_list")
+                .append("cond", new Document("$ne", List.of("$$this", playerUuid.toString())))
+        );
+
+        final Optional<GameRoomRecord> record = this.updateMembership(Filters.and(filterList), playerList);
+        record.ifPresent(gameRoom -> this.cache.put(new GameRoomSnapshot(gameRoom)));
+        return record;
+    }
+
     /**
      * Used to get the instance of a game room record
      * given its uuid.
+     * The cache is checked before the database.
      *
      * @param gameRoomUuid The unique identifier of the game room.
      * @return The instance of the game room record or empty optional.
      */
     public @NotNull Optional<GameRoomRecord> getGameRoom(@NotNull UUID gameRoomUuid) {
-        GameRoomRecord gameRoomRecord = this.getFirstRecord(
-                new Query().match("uuid", gameRoomUuid.toString())
-        );
+        final Optional<GameRoomSnapshot> snapshot = this.cache.getGameRoom(gameRoomUuid);
+        if (snapshot.isPresent()) return Optional.of(snapshot.get().asRecord());
 
-        if (gameRoomRecord == null) return Optional.empty();
-        return Optional.of(gameRoomRecord);
+        return this.cacheGameRoom(this.fetchGameRoom(gameRoomUuid));
+    }
+
+    /**
+     * Used to get a game room record from the database
+     * without using the cache.
+     *
+     * @param gameRoomUuid The unique identifier of the game room.
+     * @return The instance of the game room record or empty optional.
+     */
+    public @NotNull Optional<GameRoomRecord> fetchGameRoom(@NotNull UUID gameRoomUuid) {
+        final Document document = this.getMongoCollection()
+                .find(Filters.eq("uuid", gameRoomUuid.toString()))
+                .first();
+
+        if (document == null) return Optional.empty();
+        return Optional.of(GameRoomRecord.fromDocument(document));
     }
 
     /**
      * Used to get the instance of a game room
      * given the uuid of the owner.
+     * The cache is checked before the database.
      *
      * @param playerUuid The owner's uuid.
      * @return The optional game room record.
      */
     public @NotNull Optional<GameRoomRecord> getGameRoomFromOwner(@NotNull UUID playerUuid) {
-        GameRoomRecord gameRoomRecord = this.getFirstRecord(
-                new Query().match("owner_uuid", playerUuid.toString())
-        );
+        final Optional<GameRoomSnapshot> snapshot = this.cache.getGameRoomFromOwner(playerUuid);
+        if (snapshot.isPresent()) return Optional.of(snapshot.get().asRecord());
+
+        final Document document = this.getMongoCollection()
+                .find(Filters.eq("owner_uuid", playerUuid.toString()))
+                .first();
 
-        if (gameRoomRecord == null) return Optional.empty();
-        return Optional.of(gameRoomRecord);
+        if (document == null) return Optional.empty();
+        return this.cacheGameRoom(Optional.of(GameRoomRecord.fromDocument(document)));
     }
 
     /**
      * Used to get the game room a player is in.
+     * The cache is checked first, otherwise
+     * the indexed player array is queried.
+     * <li>
+     * Game rooms saved before the player array existed
+     * are matched by their player_uuids field until
+     * {@link #migratePlayerUuidList()} has been run.
+     * </li>
      *
      * @param playerUuid The player's uuid.
      * @return Empty if the player is not in a game room.
      */
     public @NotNull Optional<GameRoomRecord> getGameRoomFromPlayer(@NotNull UUID playerUuid) {
-        List<GameRoomRecord> gameRoomRecordList = this.getRecordList();
+        final Optional<GameRoomSnapshot> snapshot = this.cache.getGameRoomFromPlayer(playerUuid);
+        if (snapshot.isPresent()) return Optional.of(snapshot.get().asRecord());
+
+        // Query the indexed player array, or the legacy
+        // player uuids of game rooms that have not been migrated.
+        final Document document = this.getMongoCollection()
+                .find(Filters.or(
+                        Filters.eq("player_uuid_list", playerUuid.toString()),
+                        Filters.and(
+                                Filters.exists("player_uuid_list", false),
+                                Filters.regex("player_uuids", Pattern.quote(playerUuid.toString()))
+                        )
+                ))
+                .first();
+
+        if (document == null) return Optional.empty();
+        return this.cacheGameRoom(Optional.of(GameRoomRecord.fromDocument(document)));
+    }
 
-        for (GameRoomRecord record : gameRoomRecordList) {
-            if (record.getPlayerUuids().contains(playerUuid)) return Optional.of(record);
+    /**
+     * Used to get a page of the public game rooms
+     * for a game type, ordered by the game room's uuid.
+     * <li>
+     * To get the next page, pass the uuid of the
+     * last game room on this page.
+     * </li>
+     *
+     * @param gameType The type of game.
+     * @param after    The uuid of the last game room on the
+     *                 previous page. Null for the first page.
+     * @param limit    The most game rooms to return.
+     * @return The list of game room records.
+     */
+    public @NotNull List<GameRoomRecord> getPublicGameRooms(@NotNull GameType gameType, @Nullable UUID after, int limit) {
+        return this.getGameRooms(gameType, false, after, limit);
+    }
+
+    /**
+     * Used to get a page of game rooms for a game type
+     * and visibility, ordered by the game room's uuid.
+     * The filtering is done by the database.
+     *
+     * @param gameType  The type of game.
+     * @param isPrivate True to get private game rooms.
+     * @param after     The uuid of the last game room on the
+     *                  previous page. Null for the first page.
+     * @param limit     The most game rooms to return.
+     * @return The list of game room records.
+     */
+    public @NotNull List<GameRoomRecord> getGameRooms(@NotNull GameType gameType, boolean isPrivate,
+                                                      @Nullable UUID after, int limit) {
+
+        final List<GameRoomRecord> list = new ArrayList<>();
+        if (limit <= 0) return list;
+
+        for (Document document : this.getMongoCollection()
+                .find(this.getBrowseFilter(gameType, isPrivate, after))
+                .sort(Sorts.ascending("uuid"))
+                .limit(limit)) {
+
+            list.add(GameRoomRecord.fromDocument(document));
+        }
+        return list;
+    }
+
+    /**
+     * Used to stream the public game rooms for a game type,
+     * ordered by the game room's uuid.
+     * The game rooms are read from the database in batches
+     * as the stream is consumed.
+     * <li>
+     * The stream should be closed, for example with
+     * try-with-resources, to release the database cursor.
+     * </li>
+     *
+     * @param gameType The type of game.
+     * @return The stream of game room records.
+     */
+    public @NotNull Stream<GameRoomRecord> streamPublicGameRooms(@NotNull GameType gameType) {
+        final MongoCursor<Document> cursor = this.getMongoCollection()
+                .find(this.getBrowseFilter(gameType, false, null))
+                .sort(Sorts.ascending("uuid"))
+                .batchSize(64)
+                .iterator();
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                .map(GameRoomRecord::fromDocument)
+                .onClose(cursor::close);
+    }
+
+    /**
+     * Used to get the filter for browsing
+     * game rooms of a game type.
+     *
+     * @param gameType  The type of game.
+     * @param isPrivate True to match private game rooms.
+     * @param after     The uuid to start after or null.
+     * @return The filter.
+     */
+    private @NotNull Bson getBrowseFilter(@NotNull GameType gameType, boolean isPrivate, @Nullable UUID after) {
+        final Bson filter = Filters.and(
+                Filters.eq("game_type", gameType.name()),
+                Filters.eq("is_private", isPrivate)
+        );
+
+        if (after == null) return filter;
+        return Filters.and(filter, Filters.gt("uuid", after.toString()));
+    }
+
+    /**
+     * Used to update the cache with a game room
+     * read from the database.
+     *
+     * @param record The optional game room record.
+     * @return The same optional game room record.
+     */
+    private @NotNull Optional<GameRoomRecord> cacheGameRoom(@NotNull Optional<GameRoomRecord> record) {
+        record.ifPresent(gameRoom -> this.cache.put(new GameRoomSnapshot(gameRoom)));
+        return record;
+    }
+
+    /**
+     * Used to set a game room's player array, increase its
+     * version and rebuild the player_uuids field in one write.
+     *
+     * @param filter     The filter the game room must match.
+     * @param playerList The expression for the new player array.
+     * @return The updated game room record or empty if no game room matched.
+     */
+    private @NotNull Optional<GameRoomRecord> updateMembership(@NotNull Bson filter, @NotNull Document playerList) {
+        final Document document = this.getMongoCollection().findOneAndUpdate(
+                filter,
+                List.of(
+                        new Document("$set", new Document("player_uuid_list", playerList)
+                                .append("version", new Document("$add", List.of(
+                                        new Document("$ifNull", List.of("$version", 0L)), 1L
+                                )))
+                        ),
+                        PLAYER_UUIDS_STAGE
+                ),
+                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER)
+        );
+
+        if (document == null) return Optional.empty();
+        return Optional.of(GameRoomRecord.fromDocument(document));
+    }
+
+    /**
+     * Used to get the filter that matches a game room
+     * on a version. Game rooms saved before versions
+     * existed are treated as version zero.
+     *
+     * @param version The version.
+     * @return The filter.
+     */
+    private @NotNull Bson getVersionFilter(long version) {
+        if (version != 0) return Filters.eq("version", version);
+        return Filters.or(Filters.exists("version", false), Filters.eq("version", 0L));
+    }
+
+    /**
+     * Used to get a page of membership views
+     * ordered by the game room's uuid.
+     *
+     * @param after The uuid of the last game room on the
+     *              previous page. Null for the first page.
+     * @param limit The most views to return.
+     * @return The list of membership views.
+     */
+    public @NotNull List<GameRoomMembershipView> getMembershipViews(@Nullable UUID after, int limit) {
+        final List<GameRoomMembershipView> viewList = new ArrayList<>();
+        for (Document document : this.getMongoCollection()
+                .find(after == null ? Filters.empty() : Filters.gt("uuid", after.toString()))
+                .sort(Sorts.ascending("uuid"))
+                .limit(limit)
+                .projection(Projections.include(GameRoomMembershipView.FIELDS))) {
+
+            viewList.add(new GameRoomMembershipView(document));
+        }
+        return viewList;
+    }
+
+    /**
+     * Used to send an event to the other servers.
+     * A failure is logged so the database
+     * change is still reported as done.
+     *
+     * @param event The instance of the event.
+     */
+    private void callEvent(@NotNull Event event) {
+        try {
+            MineManiaAPI.getInstance().callEvent(event);
+        } catch (Exception exception) {
+            Console.log("Unable to send a game room event: " + exception.getMessage());
         }
-        return Optional.empty();
     }
 }
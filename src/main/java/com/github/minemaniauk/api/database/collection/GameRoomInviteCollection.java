@@ -21,17 +21,254 @@
 package com.github.minemaniauk.api.database.collection;
 
 import com.github.minemaniauk.api.database.record.GameRoomInviteRecord;
-import com.github.smuddgge.squishydatabase.interfaces.TableAdapter;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Represents the game invite collection.
  * Contains all the invites to game rooms.
+ * <li>
+ * Expired invites are removed by a ttl index on expireAtDate
+ * and are not returned by the methods in this class.
+ * </li>
  */
-public class GameRoomInviteCollection extends TableAdapter<GameRoomInviteRecord> {
+public class GameRoomInviteCollection extends MongoTableAdapter<GameRoomInviteRecord> {
 
     @Override
     public @NotNull String getName() {
         return "gameinvites";
     }
+
+    @Override
+    public void createIndexes() {
+        this.getMongoCollection().createIndex(Indexes.ascending("gameRoomUuid"));
+        this.getMongoCollection().createIndex(Indexes.ascending("toPlayerUuid"));
+        this.getMongoCollection().createIndex(Indexes.ascending("uuid"));
+
+        // Remove documents once the expireAtDate has passed.
+        this.getMongoCollection().createIndex(
+                Indexes.ascending("expireAtDate"),
+                new IndexOptions().expireAfter(0L, TimeUnit.SECONDS)
+        );
+    }
+
+    /**
+     * Used to give the invites saved before
+     * invites expired an expiry time, and store
+     * expiry dates saved by older versions
+     * in milliseconds.
+     *
+     * @param expireAt When the invites should expire in milliseconds.
+     */
+    public void setMissingExpiry(long expireAt) {
+        this.getMongoCollection().updateMany(
+                Filters.exists("expireAt", false),
+                Updates.combine(
+                        Updates.set("expireAt", expireAt),
+                        Updates.set("expireAtDate", new Date(expireAt))
+                )
+        );
+
+        this.getMongoCollection().updateMany(
+                Filters.type("expireAt", "date"),
+                List.of(new Document("$set", new Document("expireAtDate", "$expireAt")
+                        .append("expireAt", new Document("$toLong", "$expireAt"))
+                ))
+        );
+    }
+
+    /**
+     * Used to insert an invite.
+     *
+     * @param invite The instance of the invite.
+     */
+    public void insertInvite(@NotNull GameRoomInviteRecord invite) {
+        this.getMongoCollection().insertOne(invite.asDocument());
+    }
+
+    /**
+     * Used to insert many invites with one query.
+     *
+     * @param invites The list of invites.
+     */
+    public void insertInvites(@NotNull List<GameRoomInviteRecord> invites) {
+        if (invites.isEmpty()) return;
+        this.getMongoCollection().insertMany(invites.stream().map(GameRoomInviteRecord::asDocument).toList());
+    }
+
+    /**
+     * Used to get which of the given players already
+     * have an invite to a game room with one query.
+     *
+     * @param gameRoomUuid  The game room's uuid.
+     * @param toPlayerUuids The uuids of the players.
+     * @return The uuids of the players that have been invited.
+     */
+    public @NotNull Set<UUID> getInvitedPlayerUuids(@NotNull UUID gameRoomUuid, @NotNull Collection<UUID> toPlayerUuids) {
+        final Set<UUID> invited = new HashSet<>();
+        if (toPlayerUuids.isEmpty()) return invited;
+
+        for (Document document : this.getMongoCollection()
+                .find(Filters.and(
+                        Filters.eq("gameRoomUuid", gameRoomUuid.toString()),
+                        Filters.in("toPlayerUuid", toPlayerUuids.stream().map(UUID::toString).toList()),
+                        this.getUnexpiredFilter()
+                ))
+                .projection(Projections.include("toPlayerUuid"))) {
+
+            invited.add(UUID.fromString(document.getString("toPlayerUuid")));
+        }
+        return invited;
+    }
+
+    /**
+     * Used to remove an invite.
+     *
+     * @param inviteUuid The invite's uuid.
+     */
+    public void removeInvite(@NotNull UUID inviteUuid) {
+        this.getMongoCollection().deleteOne(Filters.eq("uuid", inviteUuid.toString()));
+    }
+
+    /**
+     * Used to remove many invites with one query.
+     *
+     * @param inviteUuids The uuids of the invites.
+     * @return The number of invites removed.
+     */
+    public long removeInvites(@NotNull Collection<UUID> inviteUuids) {
+        if (inviteUuids.isEmpty()) return 0;
+        return this.getMongoCollection()
+                .deleteMany(Filters.in("uuid", inviteUuids.stream().map(UUID::toString).toList()))
+                .getDeletedCount();
+    }
+
+    /**
+     * Used to get an invite given its uuid.
+     *
+     * @param inviteUuid The invite's uuid.
+     * @return The optional invite.
+     */
+    public @NotNull Optional<GameRoomInviteRecord> getInvite(@NotNull UUID inviteUuid) {
+        return this.getFirstInvite(Filters.eq("uuid", inviteUuid.toString()));
+    }
+
+    /**
+     * Used to get the invite sent to a player
+     * from a game room.
+     *
+     * @param toPlayerUuid The player it is to.
+     * @param gameRoomUuid The game room it is from.
+     * @return The optional invite.
+     */
+    public @NotNull Optional<GameRoomInviteRecord> getInvite(@NotNull UUID toPlayerUuid, @NotNull UUID gameRoomUuid) {
+        return this.getFirstInvite(Filters.and(
+                Filters.eq("toPlayerUuid", toPlayerUuid.toString()),
+                Filters.eq("gameRoomUuid", gameRoomUuid.toString())
+        ));
+    }
+
+    /**
+     * Used to get the invites sent to a player.
+     *
+     * @param toPlayerUuid The player the invites were sent to.
+     * @return The list of invites.
+     */
+    public @NotNull List<GameRoomInviteRecord> getInviteList(@NotNull UUID toPlayerUuid) {
+        return this.getInvites(Filters.eq("toPlayerUuid", toPlayerUuid.toString()));
+    }
+
+    /**
+     * Used to get the invites sent from a game room.
+     *
+     * @param gameRoomUuid The game room's uuid.
+     * @return The list of invites.
+     */
+    public @NotNull List<GameRoomInviteRecord> getInviteListForGameRoom(@NotNull UUID gameRoomUuid) {
+        return this.getInvites(Filters.eq("gameRoomUuid", gameRoomUuid.toString()));
+    }
+
+    /**
+     * Used to get the uuids of every game room
+     * that has at least one invite.
+     *
+     * @return The list of game room uuids.
+     */
+    public @NotNull List<UUID> getInvitedGameRoomUuids() {
+        final List<UUID> list = new ArrayList<>();
+        for (String gameRoomUuid : this.getMongoCollection().distinct("gameRoomUuid", String.class)) {
+            list.add(UUID.fromString(gameRoomUuid));
+        }
+        return list;
+    }
+
+    /**
+     * Used to remove every invite to the given
+     * game rooms with one query.
+     *
+     * @param gameRoomUuids The uuids of the game rooms.
+     * @return The number of invites removed.
+     */
+    public long removeInvitesToGameRooms(@NotNull Collection<UUID> gameRoomUuids) {
+        if (gameRoomUuids.isEmpty()) return 0;
+        return this.getMongoCollection()
+                .deleteMany(Filters.in("gameRoomUuid", gameRoomUuids.stream().map(UUID::toString).toList()))
+                .getDeletedCount();
+    }
+
+    /**
+     * Used to get the first invite that matches
+     * a filter and has not expired.
+     *
+     * @param filter The filter.
+     * @return The optional invite.
+     */
+    private @NotNull Optional<GameRoomInviteRecord> getFirstInvite(@NotNull Bson filter) {
+        final Document document = this.getMongoCollection()
+                .find(Filters.and(filter, this.getUnexpiredFilter()))
+                .first();
+
+        if (document == null) return Optional.empty();
+        return Optional.of(GameRoomInviteRecord.fromDocument(document));
+    }
+
+    /**
+     * Used to get the invites that match
+     * a filter and have not expired.
+     *
+     * @param filter The filter.
+     * @return The list of invites.
+     */
+    private @NotNull List<GameRoomInviteRecord> getInvites(@NotNull Bson filter) {
+        final List<GameRoomInviteRecord> list = new ArrayList<>();
+        for (Document document : this.getMongoCollection().find(Filters.and(filter, this.getUnexpiredFilter()))) {
+            list.add(GameRoomInviteRecord.fromDocument(document));
+        }
+        return list;
+    }
+
+    /**
+     * Used to get the filter that matches invites
+     * that do not expire or have not expired yet.
+     * The ttl index can take up to a minute to
+     * remove an expired invite.
+     *
+     * @return The filter.
+     */
+    private @NotNull Bson getUnexpiredFilter() {
+        return Filters.or(
+                Filters.exists("expireAt", false),
+                Filters.gt("expireAt", System.currentTimeMillis()),
+                Filters.gt("expireAt", new Date())
+        );
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.database.collection;
+
+import com.github.minemaniauk.api.MineManiaAPI;
+import com.github.smuddgge.squishydatabase.interfaces.TableAdapter;
+import com.github.smuddgge.squishydatabase.record.Record;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a table adapter that can also access
+ * its mongo collection directly.
+ * This is used for atomic and batched operations
+ * the database library does not support.
+ *
+ * @param <R> The type of record.
+ */
+public abstract class MongoTableAdapter<R extends Record> extends TableAdapter<R> {
+
+    /**
+     * Used to get the mongo collection
+     * this table is stored in.
+     *
+     * @return The instance of the mongo collection.
+     */
+    protected @NotNull MongoCollection<Document> getMongoCollection() {
+        return MineManiaAPI.getInstance()
+                .getMongoDatabase()
+                .getCollection(this.getName());
+    }
+
+    /**
+     * Used to create the indexes this collection's
+     * queries rely on. Creating an index that
+     * already exists has no effect.
+     */
+    public void createIndexes() {
+    }
+}
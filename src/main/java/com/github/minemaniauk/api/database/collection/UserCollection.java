@@ -20,24 +20,80 @@
 
 package com.github.minemaniauk.api.database.collection;
 
+import com.github.minemaniauk.api.cache.CacheStats;
+import com.github.minemaniauk.api.cache.TinyLfuCache;
 import com.github.minemaniauk.api.database.record.UserRecord;
 import com.github.smuddgge.squishydatabase.Query;
-import com.github.smuddgge.squishydatabase.interfaces.TableAdapter;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.jetbrains.annotations.NotNull;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
 
 /**
  * Represents the user collection.
+ * <li>
+ * User records are kept in a bounded cache. Users that
+ * could not be found are also cached for a shorter time,
+ * so repeated lookups for unknown players do not
+ * reach the database.
+ * </li>
+ * <li>
+ * Records saved on another server are only seen
+ * here once the cached record has expired.
+ * </li>
+ * <li>
+ * Paws should be changed with {@link #incrementPaws(UUID, long)}
+ * and {@link #spendPaws(UUID, long)}. Paws changed on a record
+ * are saved as the difference from the balance that was read,
+ * so rewards from different servers are not lost.
+ * </li>
  */
-public class UserCollection extends TableAdapter<UserRecord> {
+public class UserCollection extends MongoTableAdapter<UserRecord> {
+
+    private @NotNull TinyLfuCache<UUID, Optional<UserRecord>> cache = new TinyLfuCache<>(10000);
+    private @NotNull Duration cacheExpiry = Duration.ofSeconds(30);
+    private @NotNull Duration missingCacheExpiry = Duration.ofSeconds(5);
 
     @Override
     public @NotNull String getName() {
         return "users";
     }
 
+    @Override
+    public void createIndexes() {
+        this.getMongoCollection().createIndex(Indexes.ascending("mc_uuid"));
+    }
+
+    @Override
+    public boolean insertRecord(@NotNull UserRecord record) {
+        final boolean inserted = super.insertRecord(record);
+        this.invalidate(record);
+        return inserted;
+    }
+
+    @Override
+    public boolean removeRecord(@NotNull UserRecord record) {
+        final boolean removed = super.removeRecord(record);
+        this.invalidate(record);
+        return removed;
+    }
+
+    @Override
+    public boolean removeAllRecords(@NotNull Query query) {
+        final boolean removed = super.removeAllRecords(query);
+        this.invalidateAll();
+        return removed;
+    }
+
     /**
      * Used to get the instance of a user given there minecraft uuid.
      *
@@ -46,9 +102,191 @@ public class UserCollection extends TableAdapter<UserRecord> {
      * This will be empty if the record could not be found.
      */
     public @NotNull Optional<UserRecord> getUserRecord(@NotNull UUID minecraftUuid) {
-        String minecraftUuidString = minecraftUuid.toString();
-        UserRecord user = this.getFirstRecord(new Query().match("mc_uuid", minecraftUuidString));
-        if (user == null) return Optional.empty();
-        return Optional.of(user);
+        Optional<UserRecord> cached = this.cache.get(minecraftUuid);
+
+        if (cached == null) {
+            String minecraftUuidString = minecraftUuid.toString();
+            UserRecord user = this.getFirstRecord(new Query().match("mc_uuid", minecraftUuidString));
+            if (user != null) user.markPawsAsSaved();
+            cached = Optional.ofNullable(user);
+            this.cache.put(minecraftUuid, cached, user == null ? this.missingCacheExpiry : this.cacheExpiry);
+        }
+
+        // Return a copy as callers change the record before saving it.
+        return cached.map(UserRecord::copy);
+    }
+
+    /**
+     * Used to save a user record.
+     * If the record was read from the database, the paws added
+     * since are added to the balance in the database so paws
+     * given on other servers are not lost. Otherwise the paws
+     * are only written when the user is created.
+     * The record is given the saved balance and removed from
+     * the cache so the next lookup reads the saved record.
+     *
+     * @param record The user record.
+     */
+    public void saveUserRecord(@NotNull UserRecord record) {
+        final Document update = new Document("$set", new Document()
+                .append("mc_uuid", record.mc_uuid)
+                .append("mc_name", record.mc_name)
+                .append("name", record.name)
+                .append("email", record.email)
+        );
+
+        final OptionalLong change = record.getPawsChange();
+        if (change.isPresent() && change.getAsLong() != 0) {
+            update.append("$inc", new Document("paws", change.getAsLong()));
+        } else {
+            update.append("$setOnInsert", new Document("paws", record.paws));
+        }
+
+        final Document document = this.getMongoCollection().findOneAndUpdate(
+                Filters.eq("mc_uuid", record.mc_uuid),
+                update,
+                new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER)
+        );
+
+        if (document != null) record.paws = ((Number) document.getOrDefault("paws", 0L)).longValue();
+        record.markPawsAsSaved();
+        this.invalidate(record.getMinecraftUuid());
+    }
+
+    /**
+     * Used to add paws to a user in a single write.
+     * This could be negative to take paws away
+     * without checking the balance.
+     *
+     * @param minecraftUuid The players minecraft uuid.
+     * @param amount        The number of paws to add.
+     * @return The user's new balance.
+     * This will be empty if the user could not be found.
+     */
+    public @NotNull OptionalLong incrementPaws(@NotNull UUID minecraftUuid, long amount) {
+        return this.updatePaws(Filters.eq("mc_uuid", minecraftUuid.toString()), minecraftUuid, amount);
+    }
+
+    /**
+     * Used to take paws from a user in a single write,
+     * only if they have enough paws.
+     *
+     * @param minecraftUuid The players minecraft uuid.
+     * @param amount        The number of paws to take.
+     * @return The user's new balance.
+     * This will be empty if the user could not be found
+     * or does not have enough paws.
+     */
+    public @NotNull OptionalLong spendPaws(@NotNull UUID minecraftUuid, long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Attempted to spend a negative amount of paws: " + amount);
+        }
+
+        return this.updatePaws(Filters.and(
+                Filters.eq("mc_uuid", minecraftUuid.toString()),
+                Filters.gte("paws", amount)
+        ), minecraftUuid, -amount);
+    }
+
+    /**
+     * Used to remove a user from the cache.
+     *
+     * @param minecraftUuid The players minecraft uuid.
+     * @return This instance.
+     */
+    public @NotNull UserCollection invalidate(@NotNull UUID minecraftUuid) {
+        this.cache.invalidate(minecraftUuid);
+        return this;
+    }
+
+    /**
+     * Used to remove a user from the cache.
+     * Every user is removed if the record has no minecraft uuid.
+     *
+     * @param record The instance of the user record.
+     */
+    private void invalidate(@NotNull UserRecord record) {
+        if (record.mc_uuid == null) {
+            this.invalidateAll();
+            return;
+        }
+        this.invalidate(UUID.fromString(record.mc_uuid));
+    }
+
+    /**
+     * Used to remove every user from the cache.
+     *
+     * @return This instance.
+     */
+    public @NotNull UserCollection invalidateAll() {
+        this.cache.invalidateAll();
+        return this;
+    }
+
+    /**
+     * Used to get the statistics of the user cache.
+     *
+     * @return The cache statistics.
+     */
+    public @NotNull CacheStats getCacheStats() {
+        return this.cache.getStats();
+    }
+
+    /**
+     * Used to set the most users the cache will hold.
+     * This will clear the cache.
+     *
+     * @param maximumSize The maximum number of users.
+     * @return This instance.
+     */
+    public @NotNull UserCollection setCacheMaximumSize(int maximumSize) {
+        this.cache = new TinyLfuCache<>(maximumSize);
+        return this;
+    }
+
+    /**
+     * Used to set how long a user is kept in the cache.
+     *
+     * @param cacheExpiry The duration.
+     * @return This instance.
+     */
+    public @NotNull UserCollection setCacheExpiry(@NotNull Duration cacheExpiry) {
+        this.cacheExpiry = cacheExpiry;
+        return this;
+    }
+
+    /**
+     * Used to set how long a user that could
+     * not be found is kept in the cache.
+     *
+     * @param missingCacheExpiry The duration.
+     * @return This instance.
+     */
+    public @NotNull UserCollection setMissingCacheExpiry(@NotNull Duration missingCacheExpiry) {
+        this.missingCacheExpiry = missingCacheExpiry;
+        return this;
+    }
+
+    /**
+     * Used to increment a user's paws and
+     * update the cached record with the result.
+     *
+     * @param filter        The filter the user must match.
+     * @param minecraftUuid The players minecraft uuid.
+     * @param amount        The number of paws to add.
+     * @return The user's new balance.
+     */
+    private @NotNull OptionalLong updatePaws(@NotNull Bson filter, @NotNull UUID minecraftUuid, long amount) {
+        final Document document = this.getMongoCollection().findOneAndUpdate(
+                filter,
+                Updates.inc("paws", amount),
+                new FindOneAndUpdateOptions().returnDocument(ReturnDocument.AFTER)
+        );
+
+        if (document == null) return OptionalLong.empty();
+
+        final UserRecord record = UserRecord.fromDocument(document);
+        this.cache.put(minecraftUuid, Optional.of(record), this.cacheExpiry);
+        return OptionalLong.of(record.getPaws());
     }
 }
@@ -25,6 +25,7 @@ import com.github.minemaniauk.api.game.GlobalArena;
 import com.github.smuddgge.squishydatabase.record.Field;
 import com.github.smuddgge.squishydatabase.record.Record;
 import com.github.smuddgge.squishydatabase.record.RecordFieldType;
+import org.bson.Document;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -43,6 +44,13 @@ public class ArenaRecord extends Record {
     public @Nullable String displayItemSection;
     public @Nullable String mapName;
 
+    /**
+     * The time in milliseconds the arena's lease expires.
+     * This is renewed by the server hosting the arena.
+     * Zero if the arena does not have a lease.
+     */
+    public long leaseExpiry;
+
     public ArenaRecord() {
 
     }
@@ -53,6 +61,58 @@ public class ArenaRecord extends Record {
         this.gameType = gameType;
     }
 
+    /**
+     * Used to create an arena record from a
+     * document in the arena collection.
+     *
+     * @param document The instance of the document.
+     * @return The arena record.
+     */
+    public static @NotNull ArenaRecord fromDocument(@NotNull Document document) {
+        final ArenaRecord record = new ArenaRecord(
+                document.getString("identifier"),
+                document.getString("serverName"),
+                document.getString("gameType")
+        );
+
+        record.gameRoomIdentifier = document.getString("gameRoomIdentifier");
+        record.minPlayers = ((Number) document.getOrDefault("minPlayers", 0)).intValue();
+        record.maxPlayers = ((Number) document.getOrDefault("maxPlayers", 0)).intValue();
+        record.displayItemSection = document.getString("displayItemSection");
+        record.mapName = document.getString("mapName");
+        record.leaseExpiry = ((Number) document.getOrDefault("leaseExpiry", 0L)).longValue();
+        return record;
+    }
+
+    /**
+     * Used to convert this record into a document
+     * for the arena collection.
+     *
+     * @return The instance of the document.
+     */
+    public @NotNull Document asDocument() {
+        return new Document()
+                .append("identifier", this.identifier)
+                .append("serverName", this.serverName)
+                .append("gameType", this.gameType)
+                .append("gameRoomIdentifier", this.gameRoomIdentifier)
+                .append("minPlayers", this.minPlayers)
+                .append("maxPlayers", this.maxPlayers)
+                .append("displayItemSection", this.displayItemSection)
+                .append("mapName", this.mapName)
+                .append("leaseExpiry", this.leaseExpiry);
+    }
+
+    /**
+     * Used to check if the server hosting this arena
+     * has stopped renewing its lease.
+     *
+     * @return True if the lease has expired.
+     */
+    public boolean hasLeaseExpired() {
+        return this.leaseExpiry > 0 && this.leaseExpiry < System.currentTimeMillis();
+    }
+
     /**
      * Used to get this record as an arena instance.
      *
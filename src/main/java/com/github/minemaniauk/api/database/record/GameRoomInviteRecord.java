@@ -22,12 +22,13 @@ package com.github.minemaniauk.api.database.record;
 
 import com.github.minemaniauk.api.MineManiaAPIAdapter;
 import com.github.minemaniauk.api.database.collection.GameRoomCollection;
-import com.github.minemaniauk.api.database.collection.GameRoomInviteCollection;
 import com.github.smuddgge.squishydatabase.record.Field;
 import com.github.smuddgge.squishydatabase.record.Record;
 import com.github.smuddgge.squishydatabase.record.RecordFieldType;
+import org.bson.Document;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Date;
 import java.util.UUID;
 
 
@@ -35,6 +36,15 @@ import java.util.UUID;
  * Represents the game invite record.
  * Contains an invitation to a game room from a player
  * to another player.
+ * <li>
+ * Invites expire at {@link #expireAt}. The database removes
+ * expired invites with a ttl index, and they are skipped
+ * when read before then.
+ * </li>
+ * <li>
+ * The expiry is stored as milliseconds, so the database library
+ * can read it, and also as a date in expireAtDate for the ttl index.
+ * </li>
  */
 public class GameRoomInviteRecord extends Record {
 
@@ -43,13 +53,101 @@ public class GameRoomInviteRecord extends Record {
     public @NotNull String gameRoomUuid;
     public @NotNull String toPlayerUuid;
 
+    /**
+     * When the invite expires in milliseconds.
+     * Zero if the invite does not expire.
+     */
+    public long expireAt;
+
+    /**
+     * Used to create an invite record from a
+     * document in the invite collection.
+     *
+     * @param document The instance of the document.
+     * @return The invite record.
+     */
+    public static @NotNull GameRoomInviteRecord fromDocument(@NotNull Document document) {
+        final GameRoomInviteRecord record = new GameRoomInviteRecord();
+        record.uuid = document.getString("uuid");
+        record.gameRoomUuid = document.getString("gameRoomUuid");
+        record.toPlayerUuid = document.getString("toPlayerUuid");
+
+        // Invites saved by older versions store the expiry as a date.
+        final Object expireAt = document.get("expireAt");
+        if (expireAt instanceof Number number) record.expireAt = number.longValue();
+        if (expireAt instanceof Date date) record.expireAt = date.getTime();
+        return record;
+    }
+
+    /**
+     * Used to convert this record into a document
+     * for the invite collection.
+     * The expiry is also stored as a date so
+     * the ttl index can remove it.
+     *
+     * @return The instance of the document.
+     */
+    public @NotNull Document asDocument() {
+        final Document document = new Document()
+                .append("uuid", this.uuid)
+                .append("gameRoomUuid", this.gameRoomUuid)
+                .append("toPlayerUuid", this.toPlayerUuid);
+
+        if (this.expireAt > 0) {
+            document.append("expireAt", this.expireAt);
+            document.append("expireAtDate", new Date(this.expireAt));
+        }
+        return document;
+    }
+
+    /**
+     * Used to get the invite's uuid.
+     *
+     * @return The invite's uuid.
+     */
+    public @NotNull UUID getUuid() {
+        return UUID.fromString(this.uuid);
+    }
+
+    /**
+     * Used to get the uuid of the game room
+     * the player was invited to.
+     *
+     * @return The game room's uuid.
+     */
+    public @NotNull UUID getGameRoomUuid() {
+        return UUID.fromString(this.gameRoomUuid);
+    }
+
+    /**
+     * Used to get the uuid of the invited player.
+     *
+     * @return The player's uuid.
+     */
+    public @NotNull UUID getToPlayerUuid() {
+        return UUID.fromString(this.toPlayerUuid);
+    }
+
+    /**
+     * Used to check if the invite has expired.
+     *
+     * @return True if the invite has expired.
+     */
+    public boolean hasExpired() {
+        return this.expireAt > 0 && this.expireAt <= System.currentTimeMillis();
+    }
+
     /**
      * Used to check if the invite is still valid.
-     * If the game room no longer exists, the invite is invalid.
+     * If the invite has expired or the game room
+     * no longer exists, the invite is invalid.
+     * To check many invites at once use
+     * {@link com.github.minemaniauk.api.game.GameManager#validateInvites(java.util.List, boolean)}.
      *
      * @return If this invite is valid.
      */
     public boolean isValid() {
+        if (this.hasExpired()) return false;
         return MineManiaAPIAdapter.getInstance().getDatabase()
                 .getTable(GameRoomCollection.class)
                 .getGameRoom(UUID.fromString(gameRoomUuid))
@@ -62,9 +160,7 @@ public class GameRoomInviteRecord extends Record {
      * @return This instance.
      */
     public @NotNull GameRoomInviteRecord remove() {
-        MineManiaAPIAdapter.getInstance().getDatabase()
-                .getTable(GameRoomInviteCollection.class)
-                .removeRecord(this);
+        MineManiaAPIAdapter.getInstance().getGameManager().removeInvite(this);
         return this;
     }
 }
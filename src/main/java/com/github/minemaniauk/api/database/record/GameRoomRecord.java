@@ -29,15 +29,23 @@ import com.github.minemaniauk.api.user.MineManiaUser;
 import com.github.smuddgge.squishydatabase.record.Field;
 import com.github.smuddgge.squishydatabase.record.Record;
 import com.github.smuddgge.squishydatabase.record.RecordFieldType;
+import org.bson.Document;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.UUID;
 
 /**
  * Represents a game room record.
+ * <li>
+ * The players are held as an ordered set and stored as
+ * the player_uuid_list array. The comma separated
+ * player_uuids field is only written when the record
+ * is saved or sent, so older records and readers still work.
+ * </li>
  */
 public class GameRoomRecord extends Record implements Savable {
 
@@ -47,6 +55,9 @@ public class GameRoomRecord extends Record implements Savable {
     public @NotNull String player_uuids;
     public final @NotNull String game_type;
     public boolean is_private;
+    public long version;
+
+    private transient @Nullable LinkedHashSet<UUID> playerSet;
 
     /**
      * For database purposes. Game type should not be null!
@@ -71,6 +82,69 @@ public class GameRoomRecord extends Record implements Savable {
         this.is_private = false;
     }
 
+    /**
+     * Used to create a game room record with
+     * an existing uuid and game type.
+     *
+     * @param uuid     The game room's uuid.
+     * @param gameType The game type's name.
+     */
+    private GameRoomRecord(@NotNull String uuid, @NotNull String gameType) {
+        this.uuid = uuid;
+        this.game_type = gameType;
+    }
+
+    /**
+     * Used to create a game room record from a
+     * document in the game room collection.
+     *
+     * @param document The instance of the document.
+     * @return The game room record.
+     */
+    public static @NotNull GameRoomRecord fromDocument(@NotNull Document document) {
+        final GameRoomRecord record = new GameRoomRecord(document.getString("uuid"), document.getString("game_type"));
+        record.owner_uuid = document.getString("owner_uuid");
+        record.player_uuids = document.getString("player_uuids") == null ? "" : document.getString("player_uuids");
+        record.is_private = document.getBoolean("is_private", false);
+        record.version = ((Number) document.getOrDefault("version", 0L)).longValue();
+
+        // Records saved before the array existed only have the string.
+        final List<String> playerUuidList = document.getList("player_uuid_list", String.class);
+        if (playerUuidList != null) {
+            record.playerSet = new LinkedHashSet<>();
+            for (String playerUuid : playerUuidList) {
+                record.playerSet.add(UUID.fromString(playerUuid));
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Used to convert this record into a document
+     * for the game room collection.
+     * The players are also stored as an indexed array
+     * so a player's game room can be found with one query.
+     *
+     * @return The instance of the document.
+     */
+    public @NotNull Document asDocument() {
+        this.syncPlayerUuids();
+
+        final List<String> playerUuidList = new ArrayList<>(this.getPlayerSet().size());
+        for (UUID playerUuid : this.getPlayerSet()) {
+            playerUuidList.add(playerUuid.toString());
+        }
+
+        return new Document()
+                .append("uuid", this.uuid)
+                .append("owner_uuid", this.owner_uuid)
+                .append("player_uuids", this.player_uuids)
+                .append("player_uuid_list", playerUuidList)
+                .append("game_type", this.game_type)
+                .append("is_private", this.is_private)
+                .append("version", this.version);
+    }
+
     /**
      * Used to get the game rooms unique identifier.
      *
@@ -98,28 +172,37 @@ public class GameRoomRecord extends Record implements Savable {
      * @return The list of player uuids.
      */
     public @NotNull List<UUID> getPlayerUuids() {
-        List<UUID> list = new ArrayList<>();
-        for (String uuid : this.player_uuids.split(",")) {
-            if (uuid.isEmpty()) continue;
-            list.add(UUID.fromString(uuid));
-        }
-        return list;
+        return new ArrayList<>(this.getPlayerSet());
+    }
+
+    /**
+     * Used to check if a player is in the game room.
+     *
+     * @param uuid The player's uuid.
+     * @return True if the player is in the game room.
+     */
+    public boolean containsPlayer(@NotNull UUID uuid) {
+        return this.getPlayerSet().contains(uuid);
+    }
+
+    /**
+     * Used to get the number of players in the game room.
+     *
+     * @return The number of players.
+     */
+    public int getPlayerCount() {
+        return this.getPlayerSet().size();
     }
 
     /**
      * Used to get the list of players in this game room.
-     * This relies on the complexity of the method in the
-     * api contract to get the user from an uuid.
+     * The players are resolved in one call to the
+     * api contract, in the order they joined.
      *
      * @return The list of users.
      */
     public @NotNull List<MineManiaUser> getPlayers() {
-        List<MineManiaUser> list = new ArrayList<>();
-        for (String uuid : this.player_uuids.split(",")) {
-            if (uuid.isEmpty()) continue;
-            list.add(MineManiaAPI.getInstance().getContract().getUser(UUID.fromString(uuid)));
-        }
-        return list;
+        return MineManiaAPI.getInstance().getContract().getUsers(this.getPlayerSet());
     }
 
     /**
@@ -153,45 +236,121 @@ public class GameRoomRecord extends Record implements Savable {
 
     public @NotNull GameRoomRecord setOwner(@NotNull UUID uuid) {
         this.owner_uuid = uuid.toString();
-        List<UUID> playerUuids = this.getPlayerUuids();
-        if (playerUuids.contains(uuid)) return this;
-        List<UUID> orderedList = new LinkedList<>();
-        orderedList.add(uuid);
-        orderedList.addAll(playerUuids);
-        this.player_uuids = String.join(",", orderedList.stream().map(UUID::toString).toList());
+        if (this.containsPlayer(uuid)) return this;
+
+        // The owner is always the first player.
+        final LinkedHashSet<UUID> playerSet = new LinkedHashSet<>();
+        playerSet.add(uuid);
+        playerSet.addAll(this.getPlayerSet());
+        this.playerSet = playerSet;
         return this;
     }
 
+    /**
+     * Used to get the version of the game room.
+     * This is increased each time the game room is written.
+     *
+     * @return The game room's version.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
     /**
      * Used to add a player to the game room.
+     * <li>
+     * Saving will overwrite the whole game room. To add a player
+     * without risking other changes being lost, use
+     * {@link GameRoomCollection#joinGameRoom(UUID, UUID, int)}.
+     * </li>
      *
      * @param uuid The player's uuid.
      * @return This instance.
      */
     public @NotNull GameRoomRecord addPlayer(@NotNull UUID uuid) {
-        List<UUID> playerUuids = this.getPlayerUuids();
-        playerUuids.add(uuid);
-        this.player_uuids = String.join(",", playerUuids.stream().map(UUID::toString).toList());
+        this.getPlayerSet().add(uuid);
         return this;
     }
 
     /**
      * Used to remove a player from the game room.
+     * To remove a player without overwriting the game room, use
+     * {@link GameRoomCollection#leaveGameRoom(UUID, UUID)}.
      *
      * @param uuid The player's uuid.
      * @return This instance.
      */
     public @NotNull GameRoomRecord removePlayer(@NotNull UUID uuid) {
-        List<UUID> playerUuids = this.getPlayerUuids();
-        playerUuids.remove(uuid);
-        this.player_uuids = String.join(",", playerUuids.stream().map(UUID::toString).toList());
+        this.getPlayerSet().remove(uuid);
+        return this;
+    }
+
+    /**
+     * Used to write the players back into the comma
+     * separated player_uuids field. This is done when the
+     * record is saved, and should be done before the
+     * record is sent to another server.
+     *
+     * @return This instance.
+     */
+    public @NotNull GameRoomRecord syncPlayerUuids() {
+        if (this.playerSet == null) return this;
+
+        final StringBuilder builder = new StringBuilder();
+        for (UUID playerUuid : this.playerSet) {
+            if (!builder.isEmpty()) builder.append(",");
+            builder.append(playerUuid);
+        }
+        this.player_uuids = builder.toString();
         return this;
     }
 
+    /**
+     * Used to get the ordered set of players,
+     * reading it from the player_uuids field the first time.
+     *
+     * @return The set of player uuids.
+     */
+    private @NotNull LinkedHashSet<UUID> getPlayerSet() {
+        if (this.playerSet != null) return this.playerSet;
+
+        final LinkedHashSet<UUID> playerSet = new LinkedHashSet<>();
+        if (this.player_uuids != null) {
+            for (String uuid : this.player_uuids.split(",")) {
+                if (uuid.isEmpty()) continue;
+                playerSet.add(UUID.fromString(uuid));
+            }
+        }
+
+        this.playerSet = playerSet;
+        return playerSet;
+    }
+
+    /**
+     * Used to save this game room, replacing any
+     * change made since this record was read.
+     * Use {@link #trySave()} or
+     * {@link GameRoomCollection#updateGameRoom(UUID, java.util.function.Consumer)}
+     * to keep changes made by other servers.
+     */
     @Override
     public void save() {
         MineManiaAPIAdapter.getInstance().getDatabase()
                 .getTable(GameRoomCollection.class)
-                .insertRecord(this);
+                .replaceGameRoom(this);
+    }
+
+    /**
+     * Used to save this game room only if it has not
+     * been changed since this record was read.
+     *
+     * @return False if the game room was changed by someone else.
+     * The game room should then be fetched again
+     * and the change applied to the new record.
+     */
+    public boolean trySave() {
+        return MineManiaAPIAdapter.getInstance().getDatabase()
+                .getTable(GameRoomCollection.class)
+                .saveGameRoom(this);
     }
 }
@@ -20,19 +20,24 @@
 
 package com.github.minemaniauk.api.database.record;
 
+import com.github.minemaniauk.api.MineManiaAPIAdapter;
 import com.github.minemaniauk.api.database.collection.UserCollection;
+import com.github.minemaniauk.api.indicator.Savable;
 import com.github.smuddgge.squishydatabase.record.Field;
 import com.github.smuddgge.squishydatabase.record.Record;
 import com.github.smuddgge.squishydatabase.record.RecordFieldType;
+import org.bson.Document;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.OptionalLong;
 import java.util.UUID;
 
 /**
  * Represents a single user record in
  * the {@link UserCollection}.
  */
-public class UserRecord extends Record {
+public class UserRecord extends Record implements Savable {
 
     public @Field(type = RecordFieldType.PRIMARY) String mc_uuid;
     public String mc_name;
@@ -40,6 +45,23 @@ public class UserRecord extends Record {
     public final String email = "e@e.e";
     public long paws = 0;
 
+    private transient @Nullable Long savedPaws;
+
+    /**
+     * Used to create a user record from a
+     * document in the user collection.
+     *
+     * @param document The instance of the document.
+     * @return The user record.
+     */
+    public static @NotNull UserRecord fromDocument(@NotNull Document document) {
+        final UserRecord record = new UserRecord();
+        record.mc_uuid = document.getString("mc_uuid");
+        record.mc_name = document.getString("mc_name");
+        record.paws = ((Number) document.getOrDefault("paws", 0L)).longValue();
+        return record.markPawsAsSaved();
+    }
+
     /**
      * Used to get the users minecraft uuid.
      *
@@ -104,6 +126,10 @@ public class UserRecord extends Record {
 
     /**
      * Used to set the amount of paws a user has.
+     * When saved, the difference from the balance that was
+     * read is added to the balance in the database.
+     * Use {@link UserCollection#incrementPaws(UUID, long)}
+     * to change the balance without saving the record.
      *
      * @param amount The amount to set for this user.
      * @return This instance.
@@ -116,6 +142,10 @@ public class UserRecord extends Record {
     /**
      * Used to add a certain number of paws to a user.
      * This could be negative to take paws away.
+     * When saved, the paws added are added to the
+     * balance in the database.
+     * Use {@link UserCollection#incrementPaws(UUID, long)}
+     * to change the balance without saving the record.
      *
      * @param amount The number of paws to add.
      * @return This instance.
@@ -124,4 +154,49 @@ public class UserRecord extends Record {
         this.paws += amount;
         return this;
     }
+
+    /**
+     * Used to get how many paws have been added
+     * since the balance was read from the database.
+     *
+     * @return The change in paws.
+     * This will be empty if the record was not
+     * read from the database.
+     */
+    public @NotNull OptionalLong getPawsChange() {
+        if (this.savedPaws == null) return OptionalLong.empty();
+        return OptionalLong.of(this.paws - this.savedPaws);
+    }
+
+    /**
+     * Used to mark the current paws as the
+     * balance in the database.
+     *
+     * @return This instance.
+     */
+    public @NotNull UserRecord markPawsAsSaved() {
+        this.savedPaws = this.paws;
+        return this;
+    }
+
+    /**
+     * Used to create a copy of this record.
+     *
+     * @return A new user record with the same values.
+     */
+    public @NotNull UserRecord copy() {
+        UserRecord record = new UserRecord();
+        record.mc_uuid = this.mc_uuid;
+        record.mc_name = this.mc_name;
+        record.paws = this.paws;
+        record.savedPaws = this.savedPaws;
+        return record;
+    }
+
+    @Override
+    public void save() {
+        MineManiaAPIAdapter.getInstance().getDatabase()
+                .getTable(UserCollection.class)
+                .saveUserRecord(this);
+    }
 }
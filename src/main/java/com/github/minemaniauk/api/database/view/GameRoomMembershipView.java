@@ -0,0 +1,109 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.database.view;
+
+import org.bson.Document;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Represents a lightweight view of a game room record.
+ * Only contains the game room's uuid, version and its players.
+ */
+public class GameRoomMembershipView {
+
+    /**
+     * The fields to include when querying for this view.
+     */
+    public static final @NotNull String[] FIELDS = {"uuid", "version", "player_uuids", "player_uuid_list"};
+
+    private final @NotNull UUID uuid;
+    private final long version;
+    private final @NotNull List<UUID> playerUuids;
+
+    /**
+     * Used to create a membership view from a projected document.
+     *
+     * @param document The instance of the document.
+     */
+    public GameRoomMembershipView(@NotNull Document document) {
+        this.uuid = UUID.fromString(document.getString("uuid"));
+        this.version = ((Number) document.getOrDefault("version", 0L)).longValue();
+        this.playerUuids = new ArrayList<>();
+
+        // Prefer the player array when it has been stored.
+        final List<String> playerUuidList = document.getList("player_uuid_list", String.class);
+        if (playerUuidList != null) {
+            for (String playerUuid : playerUuidList) {
+                this.playerUuids.add(UUID.fromString(playerUuid));
+            }
+            return;
+        }
+
+        final String playerUuids = document.getString("player_uuids");
+        if (playerUuids == null) return;
+        for (String playerUuid : playerUuids.split(",")) {
+            if (playerUuid.isEmpty()) continue;
+            this.playerUuids.add(UUID.fromString(playerUuid));
+        }
+    }
+
+    /**
+     * Used to get the game room's uuid.
+     *
+     * @return The game room's uuid.
+     */
+    public @NotNull UUID getUuid() {
+        return this.uuid;
+    }
+
+    /**
+     * Used to get the version of the game room
+     * when this view was loaded.
+     *
+     * @return The game room's version.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Used to get the players in the game room.
+     *
+     * @return The list of player uuids.
+     */
+    public @NotNull List<UUID> getPlayerUuids() {
+        return this.playerUuids;
+    }
+
+    /**
+     * Used to check if a player is in this game room.
+     *
+     * @param playerUuid The player's uuid.
+     * @return True if the player is in the game room.
+     */
+    public boolean contains(@NotNull UUID playerUuid) {
+        return this.playerUuids.contains(playerUuid);
+    }
+}
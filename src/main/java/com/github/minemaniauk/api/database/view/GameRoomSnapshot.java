@@ -0,0 +1,161 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.database.view;
+
+import com.github.minemaniauk.api.database.record.GameRoomRecord;
+import com.github.minemaniauk.api.game.GameType;
+import org.bson.Document;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Represents an immutable copy of a game room record
+ * at a version. Sent with game room events so the
+ * servers receiving them do not need to read the database.
+ */
+public class GameRoomSnapshot {
+
+    private final @NotNull UUID uuid;
+    private final @NotNull UUID ownerUuid;
+    private final @NotNull List<UUID> playerUuids;
+    private final @NotNull GameType gameType;
+    private final boolean isPrivate;
+    private final long version;
+
+    /**
+     * Used to create a snapshot of a game room record.
+     *
+     * @param record The instance of the game room record.
+     */
+    public GameRoomSnapshot(@NotNull GameRoomRecord record) {
+        this.uuid = record.getUuid();
+        this.ownerUuid = UUID.fromString(record.owner_uuid);
+        this.playerUuids = new ArrayList<>(record.getPlayerUuids());
+        this.gameType = record.getGameType();
+        this.isPrivate = record.isPrivate();
+        this.version = record.getVersion();
+    }
+
+    /**
+     * Used to get the game room's uuid.
+     *
+     * @return The game room's uuid.
+     */
+    public @NotNull UUID getUuid() {
+        return this.uuid;
+    }
+
+    /**
+     * Used to get the uuid of the game room's owner.
+     *
+     * @return The owner's uuid.
+     */
+    public @NotNull UUID getOwnerUuid() {
+        return this.ownerUuid;
+    }
+
+    /**
+     * Used to get the players in the game room.
+     *
+     * @return The list of player uuids.
+     */
+    public @NotNull List<UUID> getPlayerUuids() {
+        return Collections.unmodifiableList(this.playerUuids);
+    }
+
+    /**
+     * Used to get the type of game.
+     *
+     * @return The type of game.
+     */
+    public @NotNull GameType getGameType() {
+        return this.gameType;
+    }
+
+    /**
+     * Used to check if the game room is private.
+     *
+     * @return True if the game room is private.
+     */
+    public boolean isPrivate() {
+        return this.isPrivate;
+    }
+
+    /**
+     * Used to get the version of the game room
+     * when this snapshot was taken.
+     *
+     * @return The game room's version.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Used to check if this snapshot is newer
+     * than another version of the game room.
+     *
+     * @param version The other version.
+     * @return True if this snapshot is newer.
+     */
+    public boolean isNewerThan(long version) {
+        return this.version > version;
+    }
+
+    /**
+     * Used to check if this snapshot is newer
+     * than another snapshot of the game room.
+     *
+     * @param snapshot The other snapshot or null.
+     * @return True if this snapshot is newer or the other is null.
+     */
+    public boolean isNewerThan(@Nullable GameRoomSnapshot snapshot) {
+        return snapshot == null || this.isNewerThan(snapshot.getVersion());
+    }
+
+    /**
+     * Used to create a game room record from this snapshot.
+     * Changes to the record do not change the snapshot.
+     *
+     * @return A new game room record.
+     */
+    public @NotNull GameRoomRecord asRecord() {
+        final List<String> playerUuidList = new ArrayList<>(this.playerUuids.size());
+        for (UUID playerUuid : this.playerUuids) {
+            playerUuidList.add(playerUuid.toString());
+        }
+
+        return GameRoomRecord.fromDocument(new Document()
+                .append("uuid", this.uuid.toString())
+                .append("owner_uuid", this.ownerUuid.toString())
+                .append("player_uuids", String.join(",", playerUuidList))
+                .append("player_uuid_list", playerUuidList)
+                .append("game_type", this.gameType.name())
+                .append("is_private", this.isPrivate)
+                .append("version", this.version)
+        );
+    }
+}
@@ -27,18 +27,25 @@ import com.github.minemaniauk.api.database.record.ArenaRecord;
 import com.github.minemaniauk.api.database.record.GameRoomRecord;
 import com.github.minemaniauk.api.indicator.Savable;
 import com.github.squishylib.configuration.ConfigurationSection;
+import com.github.squishylib.configuration.implementation.MemoryConfigurationSection;
 import com.google.gson.Gson;
+import org.bson.Document;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents an arena.
  */
 public abstract class Arena implements Savable {
 
+    private static final @NotNull Gson GSON = new Gson();
+
     private final @NotNull UUID identifier;
     private final @NotNull String serverName;
     private final @NotNull GameType gameType;
@@ -48,6 +55,10 @@ public abstract class Arena implements Savable {
     private @Nullable ConfigurationSection displayItem;
     private @Nullable String mapName;
 
+    private volatile @Nullable String displayItemJson;
+    private final @NotNull Set<String> dirtyFieldSet;
+    private volatile boolean saved;
+
     /**
      * Used to create a new instance of an arena.
      *
@@ -59,6 +70,7 @@ public abstract class Arena implements Savable {
         this.identifier = identifier;
         this.serverName = serverName;
         this.gameType = gameType;
+        this.dirtyFieldSet = ConcurrentHashMap.newKeySet();
     }
 
     /**
@@ -121,7 +133,7 @@ public abstract class Arena implements Savable {
      * to this arena.
      * If there are no players using this arena,
      * it will return empty.
-     * <li>This will use a database operation.</li>
+     * <li>This will use the game room cache when possible.</li>
      *
      * @return The instance of the game room.
      */
@@ -143,10 +155,18 @@ public abstract class Arena implements Savable {
 
     /**
      * Used to get the information about the display item.
+     * If the display item was loaded as json, it is
+     * decoded the first time this is called.
      *
      * @return The infomation about the display item.
      */
     public @Nullable ConfigurationSection getDisplayItemSection() {
+        if (this.displayItem != null) return this.displayItem;
+
+        final String json = this.getDisplayItemJson();
+        if (json == null) return null;
+
+        this.displayItem = this.decodeDisplayItem(json);
         return this.displayItem;
     }
 
@@ -168,16 +188,19 @@ public abstract class Arena implements Savable {
      */
     public @NotNull Arena setGameRoomIdentifier(@Nullable UUID gameRoomIdentifier) {
         this.gameRoomIdentifier = gameRoomIdentifier;
+        this.dirtyFieldSet.add("gameRoomIdentifier");
         return this;
     }
 
     public @NotNull Arena setMinPlayers(int minPlayers) {
         this.minPlayers = minPlayers;
+        this.dirtyFieldSet.add("minPlayers");
         return this;
     }
 
     public @NotNull Arena setMaxPlayers(int maxPlayers) {
         this.maxPlayers = maxPlayers;
+        this.dirtyFieldSet.add("maxPlayers");
         return this;
     }
 
@@ -189,9 +212,38 @@ public abstract class Arena implements Savable {
      */
     public @NotNull Arena setDisplayItemSection(@NotNull ConfigurationSection section) {
         this.displayItem = section;
+        this.displayItemJson = null;
+        this.dirtyFieldSet.add("displayItemSection");
         return this;
     }
 
+    /**
+     * Used to set the display item infomation as json
+     * without decoding it. It will be decoded when
+     * {@link #getDisplayItemSection()} is first called.
+     * This does not count as a change to save.
+     *
+     * @param json The display item json.
+     * @return This instance.
+     */
+    protected @NotNull Arena setDisplayItemJson(@Nullable String json) {
+        this.displayItem = null;
+        this.displayItemJson = json;
+        return this;
+    }
+
+    /**
+     * Used to decode the display item json
+     * into a configuration section.
+     *
+     * @param json The display item json.
+     * @return The configuration section.
+     */
+    @SuppressWarnings("unchecked")
+    protected @NotNull ConfigurationSection decodeDisplayItem(@NotNull String json) {
+        return new MemoryConfigurationSection(GSON.fromJson(json, HashMap.class));
+    }
+
     /**
      * Used to set the name of the map.
      *
@@ -200,6 +252,7 @@ public abstract class Arena implements Savable {
      */
     public @NotNull Arena setMapName(@NotNull String mapName) {
         this.mapName = mapName;
+        this.dirtyFieldSet.add("mapName");
         return this;
     }
 
@@ -223,13 +276,12 @@ public abstract class Arena implements Savable {
         return this.gameRoomIdentifier == null;
     }
 
-    @Override
-    public void save() {
-
-        // Check if the database is disabled.
-        if (MineManiaAPI.getInstance().getDatabase().isDisabled()) return;
-
-        // Create this as a record.
+    /**
+     * Used to convert this arena into an arena record.
+     *
+     * @return The instance of the arena record.
+     */
+    public @NotNull ArenaRecord asRecord() {
         ArenaRecord record = new ArenaRecord(
                 this.identifier.toString(),
                 this.serverName,
@@ -239,12 +291,97 @@ public abstract class Arena implements Savable {
         if (this.gameRoomIdentifier != null) record.gameRoomIdentifier = this.gameRoomIdentifier.toString();
         record.minPlayers = this.minPlayers;
         record.maxPlayers = this.maxPlayers;
-        if (this.displayItem != null) record.displayItemSection = new Gson().toJson(this.displayItem.getMap());
+        record.displayItemSection = this.getDisplayItemJson();
         record.mapName = this.mapName;
+        return record;
+    }
+
+    /**
+     * Used to check if this arena has changes
+     * that have not been saved.
+     *
+     * @return True if there are unsaved changes.
+     */
+    public boolean hasUnsavedChanges() {
+        return !this.saved || !this.dirtyFieldSet.isEmpty();
+    }
+
+    /**
+     * Used to mark this arena as matching the record
+     * in the database. Only fields changed after this
+     * will be sent by {@link #save()}.
+     */
+    protected void markAsSaved() {
+        this.dirtyFieldSet.clear();
+        this.saved = true;
+    }
+
+    /**
+     * Used to get the display item section as json.
+     * This is only serialised again when the section is changed.
+     *
+     * @return The display item json or null.
+     */
+    protected @Nullable String getDisplayItemJson() {
+        if (this.displayItemJson != null) return this.displayItemJson;
+        if (this.displayItem == null) return null;
+
+        this.displayItemJson = GSON.toJson(this.displayItem.getMap());
+        return this.displayItemJson;
+    }
+
+    /**
+     * Used to get the value of a field as it
+     * is stored in the arena record.
+     *
+     * @param field The name of the record field.
+     * @return The value to store.
+     */
+    private @Nullable Object getRecordValue(@NotNull String field) {
+        return switch (field) {
+            case "gameRoomIdentifier" -> this.gameRoomIdentifier == null ? null : this.gameRoomIdentifier.toString();
+            case "minPlayers" -> this.minPlayers;
+            case "maxPlayers" -> this.maxPlayers;
+            case "displayItemSection" -> this.getDisplayItemJson();
+            case "mapName" -> this.mapName;
+            default -> throw new IllegalArgumentException("Unknown arena record field " + field);
+        };
+    }
+
+    /**
+     * Used to save the arena to the database.
+     * <li>
+     * The first save will write the whole record.
+     * After that only the fields that have changed will
+     * be updated, and nothing is sent if there are no changes.
+     * </li>
+     */
+    @Override
+    public void save() {
+
+        // Check if the database is disabled.
+        if (MineManiaAPI.getInstance().getDatabase().isDisabled()) return;
+
+        final ArenaCollection collection = MineManiaAPI.getInstance().getDatabase()
+                .getTable(ArenaCollection.class);
+
+        // Write the whole record the first time.
+        if (!this.saved) {
+            this.dirtyFieldSet.clear();
+            collection.insertRecord(this.asRecord());
+            this.saved = true;
+            return;
+        }
+
+        // Collect the changed fields. The flag is removed before
+        // reading the value, so a change while saving is kept dirty.
+        final Document fields = new Document();
+        for (String field : this.dirtyFieldSet) {
+            this.dirtyFieldSet.remove(field);
+            fields.append(field, this.getRecordValue(field));
+        }
 
-        // Update record.
-        MineManiaAPI.getInstance().getDatabase()
-                .getTable(ArenaCollection.class)
-                .insertRecord(record);
+        if (fields.isEmpty()) return;
+        collection.updateArena(this.identifier, fields);
     }
 }
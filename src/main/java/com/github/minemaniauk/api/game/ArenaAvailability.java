@@ -0,0 +1,256 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.game;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents the arena availability of a single game type.
+ * The available and total amount of arenas are counted
+ * for each player bracket and updated as arenas
+ * are activated and deactivated.
+ */
+public class ArenaAvailability {
+
+    private final @NotNull Map<Long, Counter> counterMap;
+    private final @NotNull AtomicLong version;
+    private volatile @NotNull List<String> lore;
+    private volatile long loreVersion;
+
+    /**
+     * Represents the counters for a player bracket.
+     */
+    private static class Counter {
+
+        private final int minPlayers;
+        private final int maxPlayers;
+        private final @NotNull AtomicInteger available;
+        private final @NotNull AtomicInteger total;
+
+        /**
+         * Used to create a new empty counter.
+         *
+         * @param minPlayers The bracket's min players.
+         * @param maxPlayers The bracket's max players.
+         */
+        private Counter(int minPlayers, int maxPlayers) {
+            this.minPlayers = minPlayers;
+            this.maxPlayers = maxPlayers;
+            this.available = new AtomicInteger();
+            this.total = new AtomicInteger();
+        }
+
+        /**
+         * Used to get the bracket as a string.
+         *
+         * @return "Min-Max"
+         */
+        private @NotNull String getKey() {
+            return this.minPlayers + "-" + this.maxPlayers;
+        }
+    }
+
+    /**
+     * Used to create an empty arena availability.
+     */
+    public ArenaAvailability() {
+        this.counterMap = new ConcurrentSkipListMap<>();
+        this.version = new AtomicLong();
+        this.lore = List.of();
+        this.loreVersion = -1;
+    }
+
+    /**
+     * Used to count a new arena.
+     *
+     * @param arena The instance of the arena.
+     * @return This instance.
+     */
+    public @NotNull ArenaAvailability add(@NotNull Arena arena) {
+        return this.add(arena.getMinPlayers(), arena.getMaxPlayers(), arena.isDeactivated());
+    }
+
+    /**
+     * Used to count a new arena.
+     *
+     * @param minPlayers The arena's min players.
+     * @param maxPlayers The arena's max players.
+     * @param available  True if the arena is not being used.
+     * @return This instance.
+     */
+    public @NotNull ArenaAvailability add(int minPlayers, int maxPlayers, boolean available) {
+        final Counter counter = this.getCounter(minPlayers, maxPlayers);
+        counter.total.incrementAndGet();
+        if (available) counter.available.incrementAndGet();
+        this.version.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * Used to stop counting an arena.
+     *
+     * @param arena The instance of the arena.
+     * @return This instance.
+     */
+    public @NotNull ArenaAvailability remove(@NotNull Arena arena) {
+        return this.remove(arena.getMinPlayers(), arena.getMaxPlayers(), arena.isDeactivated());
+    }
+
+    /**
+     * Used to stop counting an arena.
+     *
+     * @param minPlayers The min players the arena was counted with.
+     * @param maxPlayers The max players the arena was counted with.
+     * @param available  True if the arena was counted as available.
+     * @return This instance.
+     */
+    public @NotNull ArenaAvailability remove(int minPlayers, int maxPlayers, boolean available) {
+        final Counter counter = this.getCounter(minPlayers, maxPlayers);
+        counter.total.decrementAndGet();
+        if (available) counter.available.decrementAndGet();
+        this.version.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * Called when a counted arena has changed
+     * from being available to being used.
+     *
+     * @param arena The instance of the arena.
+     * @return This instance.
+     */
+    public @NotNull ArenaAvailability onActivate(@NotNull Arena arena) {
+        return this.onActivate(arena.getMinPlayers(), arena.getMaxPlayers());
+    }
+
+    /**
+     * Called when a counted arena has changed
+     * from being available to being used.
+     *
+     * @param minPlayers The min players the arena was counted with.
+     * @param maxPlayers The max players the arena was counted with.
+     * @return This instance.
+     */
+    public @NotNull ArenaAvailability onActivate(int minPlayers, int maxPlayers) {
+        this.getCounter(minPlayers, maxPlayers).available.decrementAndGet();
+        this.version.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * Called when a counted arena has changed
+     * from being used to being available.
+     *
+     * @param arena The instance of the arena.
+     * @return This instance.
+     */
+    public @NotNull ArenaAvailability onDeactivate(@NotNull Arena arena) {
+        return this.onDeactivate(arena.getMinPlayers(), arena.getMaxPlayers());
+    }
+
+    /**
+     * Called when a counted arena has changed
+     * from being used to being available.
+     *
+     * @param minPlayers The min players the arena was counted with.
+     * @param maxPlayers The max players the arena was counted with.
+     * @return This instance.
+     */
+    public @NotNull ArenaAvailability onDeactivate(int minPlayers, int maxPlayers) {
+        this.getCounter(minPlayers, maxPlayers).available.incrementAndGet();
+        this.version.incrementAndGet();
+        return this;
+    }
+
+    /**
+     * Used to get the most players any counted arena can hold.
+     *
+     * @return The most players or 0 if there are no arenas.
+     */
+    public int getMaxPlayers() {
+        int maxPlayers = 0;
+        for (Counter counter : this.counterMap.values()) {
+            if (counter.total.get() <= 0) continue;
+            maxPlayers = Math.max(maxPlayers, counter.maxPlayers);
+        }
+        return maxPlayers;
+    }
+
+    /**
+     * Used to get the map of arena availability.
+     * <li>Map<"Min-Max" Players, List[Available, Amount]></li>
+     *
+     * @return The map of arena availability.
+     */
+    public @NotNull Map<String, List<Integer>> asMap() {
+        final Map<String, List<Integer>> map = new LinkedHashMap<>();
+        for (Counter counter : this.counterMap.values()) {
+            final int total = counter.total.get();
+            if (total <= 0) continue;
+            map.put(counter.getKey(), List.of(counter.available.get(), total));
+        }
+        return map;
+    }
+
+    /**
+     * Used to get the arena availability as lore.
+     * This is only rebuilt when the counters have changed.
+     * <li>List["Min-Max Players Available/Amount Available Arenas", ...]</li>
+     *
+     * @return The lore list.
+     */
+    public @NotNull List<String> asLore() {
+        final long currentVersion = this.version.get();
+        if (this.loreVersion == currentVersion) return this.lore;
+
+        final List<String> lore = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> entry : this.asMap().entrySet()) {
+            lore.add(entry.getKey() + " Players " + entry.getValue().get(0) + "/" + entry.getValue().get(1) + " Available Arenas");
+        }
+
+        this.lore = List.copyOf(lore);
+        this.loreVersion = currentVersion;
+        return this.lore;
+    }
+
+    /**
+     * Used to get or create the counter
+     * for a player bracket.
+     *
+     * @param minPlayers The bracket's min players.
+     * @param maxPlayers The bracket's max players.
+     * @return The bracket's counter.
+     */
+    private @NotNull Counter getCounter(int minPlayers, int maxPlayers) {
+
+        // Sorted by min players then max players.
+        final long key = ((long) minPlayers << 32) | (maxPlayers & 0xFFFFFFFFL);
+        return this.counterMap.computeIfAbsent(key, k -> new Counter(minPlayers, maxPlayers));
+    }
+}
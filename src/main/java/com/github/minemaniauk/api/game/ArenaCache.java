@@ -0,0 +1,455 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.game;
+
+import com.github.minemaniauk.api.MineManiaAPI;
+import com.github.minemaniauk.api.database.collection.ArenaCollection;
+import com.github.minemaniauk.api.database.record.ArenaRecord;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents an in memory view of the arenas
+ * registered in the database, split up by game type.
+ * <li>
+ * A game type is loaded from the database the first time
+ * it is requested and kept up to date with the
+ * arena kerb events. It will be reloaded once it
+ * is older than the expiry duration.
+ * </li>
+ * <li>
+ * The arena availability of each game type is
+ * counted as the arenas change.
+ * </li>
+ * <li>
+ * The lease of each server is tracked from the
+ * heartbeat events, and arenas on servers whose lease
+ * has expired are skipped.
+ * </li>
+ */
+public class ArenaCache {
+
+    private final @NotNull MineManiaAPI api;
+    private final @NotNull Map<GameType, View> viewMap;
+    private final @NotNull Map<String, Long> leaseMap;
+    private @NotNull Duration expiry;
+
+    /**
+     * Represents the cached arenas of a single game type.
+     * The state each arena was counted with is kept apart
+     * from the arena, so changes made to the returned
+     * arenas do not change the counters.
+     */
+    private static class View {
+
+        private final @NotNull Map<UUID, Arena> arenaMap;
+        private final @NotNull Map<UUID, State> stateMap;
+        private final @NotNull ArenaAvailability availability;
+        private final @NotNull Set<String> expiredServerSet;
+        private final long loadedTimeMillis;
+
+        /**
+         * Used to create a new view.
+         *
+         * @param arenaMap The map of arena identifiers to arenas.
+         */
+        private View(@NotNull Map<UUID, Arena> arenaMap) {
+            this.arenaMap = arenaMap;
+            this.stateMap = new HashMap<>();
+            this.availability = new ArenaAvailability();
+            this.expiredServerSet = new HashSet<>();
+            this.loadedTimeMillis = System.currentTimeMillis();
+
+            for (Map.Entry<UUID, Arena> entry : arenaMap.entrySet()) {
+                final State state = new State(entry.getValue());
+                this.stateMap.put(entry.getKey(), state);
+                this.availability.add(state.minPlayers, state.maxPlayers, state.available);
+            }
+        }
+
+        /**
+         * Used to add or replace an arena.
+         *
+         * @param arena The instance of the arena.
+         */
+        private synchronized void put(@NotNull Arena arena) {
+            final State state = new State(arena);
+            this.arenaMap.put(arena.getIdentifier(), arena);
+            final State previous = this.stateMap.put(arena.getIdentifier(), state);
+            if (previous != null && this.isCounted(previous)) {
+                this.availability.remove(previous.minPlayers, previous.maxPlayers, previous.available);
+            }
+            if (this.isCounted(state)) this.availability.add(state.minPlayers, state.maxPlayers, state.available);
+        }
+
+        /**
+         * Used to remove an arena.
+         *
+         * @param arenaIdentifier The arena's identifier.
+         */
+        private synchronized void remove(@NotNull UUID arenaIdentifier) {
+            this.arenaMap.remove(arenaIdentifier);
+            final State previous = this.stateMap.remove(arenaIdentifier);
+            if (previous != null && this.isCounted(previous)) {
+                this.availability.remove(previous.minPlayers, previous.maxPlayers, previous.available);
+            }
+        }
+
+        /**
+         * Used to set the game room identifier of a cached arena
+         * and update the availability if it has changed since
+         * the arena was last counted.
+         *
+         * @param arenaIdentifier    The arena's identifier.
+         * @param gameRoomIdentifier The game room identifier or null.
+         * @return False if the arena is not in this view.
+         */
+        private synchronized boolean setGameRoomIdentifier(@NotNull UUID arenaIdentifier, @Nullable UUID gameRoomIdentifier) {
+            final State state = this.stateMap.get(arenaIdentifier);
+            if (state == null) return false;
+
+            final Arena arena = this.arenaMap.get(arenaIdentifier);
+            if (arena != null) arena.setGameRoomIdentifier(gameRoomIdentifier);
+
+            final boolean available = gameRoomIdentifier == null;
+            if (state.available == available) return true;
+            state.available = available;
+            if (!this.isCounted(state)) return true;
+
+            if (available) this.availability.onDeactivate(state.minPlayers, state.maxPlayers);
+            else this.availability.onActivate(state.minPlayers, state.maxPlayers);
+            return true;
+        }
+
+        /**
+         * Used to stop counting the arenas of servers whose
+         * lease has expired, and count them again once
+         * their lease has been renewed.
+         * Only servers whose lease has changed state
+         * have their arenas looked at.
+         *
+         * @param leaseMap The map of server names to lease expiry times.
+         */
+        private synchronized void updateLeases(@NotNull Map<String, Long> leaseMap) {
+            final long now = System.currentTimeMillis();
+            for (Map.Entry<String, Long> entry : leaseMap.entrySet()) {
+                final boolean expired = entry.getValue() < now;
+                if (expired == this.expiredServerSet.contains(entry.getKey())) continue;
+
+                if (expired) this.expiredServerSet.add(entry.getKey());
+                else this.expiredServerSet.remove(entry.getKey());
+
+                for (State state : this.stateMap.values()) {
+                    if (!state.serverName.equals(entry.getKey())) continue;
+                    if (expired) this.availability.remove(state.minPlayers, state.maxPlayers, state.available);
+                    else this.availability.add(state.minPlayers, state.maxPlayers, state.available);
+                }
+            }
+        }
+
+        /**
+         * Used to check if an arena is counted
+         * in the availability.
+         *
+         * @param state The state the arena was counted with.
+         * @return False if the arena's server lease has expired.
+         */
+        private boolean isCounted(@NotNull State state) {
+            return !this.expiredServerSet.contains(state.serverName);
+        }
+
+        /**
+         * Used to check if this view is older
+         * than the expiry duration.
+         *
+         * @param expiry The expiry duration.
+         * @return True if it should be reloaded.
+         */
+        private boolean isExpired(@NotNull Duration expiry) {
+            return System.currentTimeMillis() - this.loadedTimeMillis > expiry.toMillis();
+        }
+    }
+
+    /**
+     * Represents the state an arena
+     * was last counted with.
+     */
+    private static class State {
+
+        private final @NotNull String serverName;
+        private final int minPlayers;
+        private final int maxPlayers;
+        private boolean available;
+
+        /**
+         * Used to take the state of an arena.
+         *
+         * @param arena The instance of the arena.
+         */
+        private State(@NotNull Arena arena) {
+            this.serverName = arena.getServerName();
+            this.minPlayers = arena.getMinPlayers();
+            this.maxPlayers = arena.getMaxPlayers();
+            this.available = arena.isDeactivated();
+        }
+    }
+
+    /**
+     * Used to create a new arena cache.
+     *
+     * @param api    The instance of the api.
+     * @param expiry The maximum age of a game type before
+     *               it is reloaded from the database.
+     */
+    public ArenaCache(@NotNull MineManiaAPI api, @NotNull Duration expiry) {
+        this.api = api;
+        this.viewMap = new ConcurrentHashMap<>();
+        this.leaseMap = new ConcurrentHashMap<>();
+        this.expiry = expiry;
+    }
+
+    /**
+     * Used to get the maximum age of a game type
+     * before it is reloaded from the database.
+     *
+     * @return The expiry duration.
+     */
+    public @NotNull Duration getExpiry() {
+        return this.expiry;
+    }
+
+    /**
+     * Used to set the maximum age of a game type
+     * before it is reloaded from the database.
+     *
+     * @param expiry The expiry duration.
+     * @return This instance.
+     */
+    public @NotNull ArenaCache setExpiry(@NotNull Duration expiry) {
+        this.expiry = expiry;
+        return this;
+    }
+
+    /**
+     * Used to get the cached arenas of a game type.
+     * Arenas on servers whose lease has expired are skipped.
+     * <li>This will use a database operation if the game type
+     * has not been loaded yet or has expired.</li>
+     *
+     * @param gameType The game type to filter.
+     * @return The list of arenas.
+     */
+    public @NotNull List<Arena> getArenas(@NotNull GameType gameType) {
+        return this.getView(gameType).arenaMap.values().stream()
+                .filter(arena -> !this.hasLeaseExpired(arena))
+                .toList();
+    }
+
+    /**
+     * Used to check if the server hosting an arena
+     * has stopped renewing its lease.
+     *
+     * @param arena The instance of the arena.
+     * @return True if the lease has expired.
+     */
+    public boolean hasLeaseExpired(@NotNull Arena arena) {
+        final Long leaseExpiry = this.leaseMap.get(arena.getServerName());
+        return leaseExpiry != null && leaseExpiry < System.currentTimeMillis();
+    }
+
+    /**
+     * Used to get the arena availability of a game type.
+     * Arenas on servers whose lease has expired are not counted.
+     * <li>This will use a database operation if the game type
+     * has not been loaded yet or has expired.</li>
+     *
+     * @param gameType The game type.
+     * @return The arena availability.
+     */
+    public @NotNull ArenaAvailability getAvailability(@NotNull GameType gameType) {
+        final View view = this.getView(gameType);
+        view.updateLeases(this.leaseMap);
+        return view.availability;
+    }
+
+    /**
+     * Used to get the arena availability of a game type
+     * without loading it from the database.
+     *
+     * @param gameType The game type.
+     * @return The arena availability or null if the game type is not loaded.
+     */
+    public @Nullable ArenaAvailability getLoadedAvailability(@NotNull GameType gameType) {
+        final View view = this.viewMap.get(gameType);
+        if (view == null) return null;
+        view.updateLeases(this.leaseMap);
+        return view.availability;
+    }
+
+    /**
+     * Used to force a game type to be reloaded
+     * from the database.
+     *
+     * @param gameType The game type to reload.
+     * @return This instance.
+     */
+    public @NotNull ArenaCache refresh(@NotNull GameType gameType) {
+        this.load(gameType);
+        return this;
+    }
+
+    /**
+     * Used to force every loaded game type to
+     * be reloaded from the database.
+     *
+     * @return This instance.
+     */
+    public @NotNull ArenaCache refreshAll() {
+        for (GameType gameType : this.viewMap.keySet()) {
+            this.load(gameType);
+        }
+        return this;
+    }
+
+    /**
+     * Used to clear the cache.
+     * Game types will be loaded again when requested.
+     *
+     * @return This instance.
+     */
+    public @NotNull ArenaCache clear() {
+        this.viewMap.clear();
+        return this;
+    }
+
+    /**
+     * Called when an arena has been activated.
+     *
+     * @param arenaIdentifier    The arena's identifier.
+     * @param gameRoomIdentifier The game room now using the arena.
+     */
+    public void onActivate(@NotNull UUID arenaIdentifier, @NotNull UUID gameRoomIdentifier) {
+        for (View view : this.viewMap.values()) {
+            if (view.setGameRoomIdentifier(arenaIdentifier, gameRoomIdentifier)) return;
+        }
+    }
+
+    /**
+     * Called when an arena has been deactivated.
+     *
+     * @param arenaIdentifier The arena's identifier.
+     */
+    public void onDeactivate(@NotNull UUID arenaIdentifier) {
+        for (View view : this.viewMap.values()) {
+            if (view.setGameRoomIdentifier(arenaIdentifier, null)) return;
+        }
+    }
+
+    /**
+     * Called when an arena has been registered.
+     * The arena is only added if its game type is loaded.
+     *
+     * @param record The instance of the arena record.
+     */
+    public void onRegister(@NotNull ArenaRecord record) {
+        this.updateLease(record.serverName, record.leaseExpiry);
+        final View view = this.viewMap.get(GameType.valueOf(record.gameType));
+        if (view == null) return;
+        view.put(record.asArena());
+    }
+
+    /**
+     * Called when an arena has been unregistered.
+     *
+     * @param arenaIdentifier The arena's identifier.
+     */
+    public void onUnregister(@NotNull UUID arenaIdentifier) {
+        GlobalArena.removeCachedDisplayItem(arenaIdentifier);
+        for (View view : this.viewMap.values()) {
+            view.remove(arenaIdentifier);
+        }
+    }
+
+    /**
+     * Called when a server has renewed the lease of its arenas.
+     *
+     * @param serverNames The server names of the arenas.
+     * @param leaseExpiry The time in milliseconds the leases expire.
+     */
+    public void onHeartbeat(@NotNull List<String> serverNames, long leaseExpiry) {
+        for (String serverName : serverNames) {
+            this.updateLease(serverName, leaseExpiry);
+        }
+    }
+
+    /**
+     * Used to extend the lease of a server.
+     * Arenas without a lease are ignored.
+     *
+     * @param serverName  The name of the server.
+     * @param leaseExpiry The time in milliseconds the lease expires.
+     */
+    private void updateLease(@NotNull String serverName, long leaseExpiry) {
+        if (leaseExpiry <= 0) return;
+        this.leaseMap.merge(serverName, leaseExpiry, Math::max);
+    }
+
+    /**
+     * Used to get the view of a game type,
+     * loading it if it is missing or expired.
+     *
+     * @param gameType The game type.
+     * @return The instance of the view.
+     */
+    private @NotNull View getView(@NotNull GameType gameType) {
+        final View view = this.viewMap.get(gameType);
+        if (view != null && !view.isExpired(this.expiry)) return view;
+        return this.load(gameType);
+    }
+
+    /**
+     * Used to load a game type from the database
+     * and replace its view.
+     *
+     * @param gameType The game type to load.
+     * @return The new view.
+     */
+    private @NotNull View load(@NotNull GameType gameType) {
+        final Map<UUID, Arena> arenaMap = new ConcurrentHashMap<>();
+
+        // Display items are only read when they are used.
+        for (ArenaRecord record : this.api.getDatabase()
+                .getTable(ArenaCollection.class)
+                .getArenaListWithoutDisplayItems(gameType)) {
+
+            this.updateLease(record.serverName, record.leaseExpiry);
+            arenaMap.put(UUID.fromString(record.identifier), new GlobalArena(record, false));
+        }
+
+        final View view = new View(arenaMap);
+        this.viewMap.put(gameType, view);
+        return view;
+    }
+}
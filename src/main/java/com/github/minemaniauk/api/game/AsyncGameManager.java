@@ -0,0 +1,263 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.game;
+
+import com.github.minemaniauk.api.database.record.GameRoomInviteRecord;
+import com.github.minemaniauk.api.database.record.GameRoomRecord;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Represents the non-blocking game manager.
+ * Each method runs the matching {@link GameManager} method
+ * on a bounded worker executor and completes the future on
+ * the callback executor. This means results can be handed back
+ * to the server's main thread without blocking it.
+ */
+public class AsyncGameManager {
+
+    private final @NotNull GameManager gameManager;
+    private final @NotNull ExecutorService workerExecutor;
+    private final @NotNull Executor callbackExecutor;
+
+    /**
+     * Used to create a new async game manager.
+     * The futures will be completed on the worker threads.
+     *
+     * @param gameManager    The game manager to run the methods on.
+     * @param workerExecutor The executor database operations are run on.
+     */
+    public AsyncGameManager(@NotNull GameManager gameManager, @NotNull ExecutorService workerExecutor) {
+        this(gameManager, workerExecutor, Runnable::run);
+    }
+
+    /**
+     * Used to create a new async game manager.
+     *
+     * @param gameManager      The game manager to run the methods on.
+     * @param workerExecutor   The executor database operations are run on.
+     * @param callbackExecutor The executor the futures are completed on.
+     */
+    public AsyncGameManager(@NotNull GameManager gameManager,
+                            @NotNull ExecutorService workerExecutor,
+                            @NotNull Executor callbackExecutor) {
+
+        this.gameManager = gameManager;
+        this.workerExecutor = workerExecutor;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Used to get a copy of this async game manager
+     * that completes its futures on a different executor.
+     * For example, the server's main thread executor.
+     *
+     * @param callbackExecutor The executor the futures are completed on.
+     * @return The new async game manager.
+     */
+    public @NotNull AsyncGameManager withCallbackExecutor(@NotNull Executor callbackExecutor) {
+        return new AsyncGameManager(this.gameManager, this.workerExecutor, callbackExecutor);
+    }
+
+    /**
+     * Used to get the executor database operations are run on.
+     *
+     * @return The worker executor.
+     */
+    public @NotNull ExecutorService getWorkerExecutor() {
+        return this.workerExecutor;
+    }
+
+    /**
+     * See {@link GameManager#getArenas(GameType)}.
+     *
+     * @param gameType The game type to filter.
+     * @return The future list of arena's.
+     */
+    public @NotNull CompletableFuture<List<Arena>> getArenas(@NotNull GameType gameType) {
+        return this.supply(() -> this.gameManager.getArenas(gameType));
+    }
+
+    /**
+     * See {@link GameManager#getArena(UUID)}.
+     *
+     * @param gameRoomIdentifier The game room identifier.
+     * @return The future optional arena.
+     */
+    public @NotNull CompletableFuture<Optional<Arena>> getArena(@NotNull UUID gameRoomIdentifier) {
+        return this.supply(() -> this.gameManager.getArena(gameRoomIdentifier));
+    }
+
+    /**
+     * See {@link GameManager#getInvite(UUID)}.
+     *
+     * @param uuid The uuid of the invite.
+     * @return The future optional invite.
+     */
+    public @NotNull CompletableFuture<Optional<GameRoomInviteRecord>> getInvite(@NotNull UUID uuid) {
+        return this.supply(() -> this.gameManager.getInvite(uuid));
+    }
+
+    /**
+     * See {@link GameManager#getInvite(UUID, UUID)}.
+     *
+     * @param toPlayerUuid The player it is to.
+     * @param gameRoomUuid The game room it is from
+     * @return The future optional invite.
+     */
+    public @NotNull CompletableFuture<Optional<GameRoomInviteRecord>> getInvite(@NotNull UUID toPlayerUuid, @NotNull UUID gameRoomUuid) {
+        return this.supply(() -> this.gameManager.getInvite(toPlayerUuid, gameRoomUuid));
+    }
+
+    /**
+     * See {@link GameManager#getInviteList(UUID)}.
+     *
+     * @param toPlayerUuid The player that has been sent the invites.
+     * @return The future list of invites.
+     */
+    public @NotNull CompletableFuture<List<GameRoomInviteRecord>> getInviteList(@NotNull UUID toPlayerUuid) {
+        return this.supply(() -> this.gameManager.getInviteList(toPlayerUuid));
+    }
+
+    /**
+     * See {@link GameManager#hasBeenInvited(UUID, UUID)}.
+     *
+     * @param playerSentToUuid The player uuid the invite was sent to.
+     * @param gameRoomUuid     The game room uuid.
+     * @return The future boolean, true if they have been invited.
+     */
+    public @NotNull CompletableFuture<Boolean> hasBeenInvited(@NotNull UUID playerSentToUuid, @NotNull UUID gameRoomUuid) {
+        return this.supply(() -> this.gameManager.hasBeenInvited(playerSentToUuid, gameRoomUuid));
+    }
+
+    /**
+     * See {@link GameManager#sendInvite(UUID, GameRoomRecord)}.
+     *
+     * @param toPlayerUuid   The player it should be sent to.
+     * @param gameRoomRecord The game room record it is being sent from.
+     * @return The future that completes when the invite is sent.
+     */
+    public @NotNull CompletableFuture<Void> sendInvite(@NotNull UUID toPlayerUuid, @NotNull GameRoomRecord gameRoomRecord) {
+        return this.supply(() -> {
+            this.gameManager.sendInvite(toPlayerUuid, gameRoomRecord);
+            return null;
+        });
+    }
+
+    /**
+     * See {@link GameManager#sendInvites(Collection, GameRoomRecord)}.
+     *
+     * @param toPlayerUuids  The players it should be sent to.
+     * @param gameRoomRecord The game room record it is being sent from.
+     * @return The future list of invites that were sent.
+     */
+    public @NotNull CompletableFuture<List<GameRoomInviteRecord>> sendInvites(@NotNull Collection<UUID> toPlayerUuids,
+                                                                              @NotNull GameRoomRecord gameRoomRecord) {
+        return this.supply(() -> this.gameManager.sendInvites(toPlayerUuids, gameRoomRecord));
+    }
+
+    /**
+     * Used to run a supplier on the worker executor
+     * and complete the result on the callback executor.
+     * If the worker queue is full, the future is
+     * completed exceptionally.
+     *
+     * @param supplier The supplier to run.
+     * @param <T>      The type of result.
+     * @return The future result.
+     */
+    private @NotNull <T> CompletableFuture<T> supply(@NotNull Supplier<T> supplier) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        try {
+            this.workerExecutor.execute(() -> {
+                try {
+                    final T result = supplier.get();
+                    this.callbackExecutor.execute(() -> future.complete(result));
+                } catch (Throwable throwable) {
+                    this.callbackExecutor.execute(() -> future.completeExceptionally(throwable));
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            future.completeExceptionally(exception);
+        }
+
+        return future;
+    }
+
+    /**
+     * Used to create a bounded worker executor.
+     * When the queue is full, new operations are rejected
+     * instead of blocking the calling thread.
+     *
+     * @param threads        The maximum number of threads.
+     * @param queueSize      The maximum number of waiting operations.
+     * @param virtualThreads If virtual threads should be used when
+     *                       the java runtime supports them.
+     * @return The instance of the executor.
+     */
+    public static @NotNull ExecutorService createExecutor(int threads, int queueSize, boolean virtualThreads) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                AsyncGameManager.createThreadFactory(virtualThreads),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Used to create the thread factory for the worker executor.
+     * Virtual threads are looked up at runtime, so this still
+     * works on java versions without them.
+     *
+     * @param virtualThreads If virtual threads should be used.
+     * @return The thread factory.
+     */
+    private static @NotNull ThreadFactory createThreadFactory(boolean virtualThreads) {
+        if (virtualThreads) {
+            try {
+                final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+                builderClass.getMethod("name", String.class, long.class).invoke(builder, "MineManiaAPI-Async-", 0L);
+                return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException ignored) {
+                // Virtual threads are not supported.
+            }
+        }
+
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "MineManiaAPI-Async-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
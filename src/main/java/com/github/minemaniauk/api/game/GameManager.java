@@ -25,18 +25,37 @@ import com.github.kerbity.kerb.packet.event.Event;
 import com.github.kerbity.kerb.packet.event.Priority;
 import com.github.minemaniauk.api.MineManiaAPI;
 import com.github.minemaniauk.api.database.collection.ArenaCollection;
+import com.github.minemaniauk.api.database.collection.GameRoomCollection;
 import com.github.minemaniauk.api.database.collection.GameRoomInviteCollection;
 import com.github.minemaniauk.api.database.record.ArenaRecord;
 import com.github.minemaniauk.api.database.record.GameRoomInviteRecord;
 import com.github.minemaniauk.api.database.record.GameRoomRecord;
 import com.github.minemaniauk.api.kerb.event.game.GameArenaActivate;
+import com.github.minemaniauk.api.kerb.event.game.GameArenaClaim;
 import com.github.minemaniauk.api.kerb.event.game.GameArenaDeactivate;
+import com.github.minemaniauk.api.kerb.event.game.GameArenaHeartbeat;
+import com.github.minemaniauk.api.kerb.event.game.GameArenaRegister;
+import com.github.minemaniauk.api.kerb.event.game.GameArenaUnregister;
+import com.github.minemaniauk.api.kerb.event.gameroom.GameRoomCreateEvent;
+import com.github.minemaniauk.api.kerb.event.gameroom.GameRoomDeleteEvent;
 import com.github.minemaniauk.api.kerb.event.gameroom.GameRoomInviteEvent;
+import com.github.minemaniauk.api.kerb.event.gameroom.GameRoomInviteRemoveEvent;
+import com.github.minemaniauk.api.kerb.event.gameroom.GameRoomJoinEvent;
+import com.github.minemaniauk.api.kerb.event.gameroom.GameRoomListEvent;
+import com.github.minemaniauk.api.kerb.event.gameroom.GameRoomLeaveEvent;
+import com.github.minemaniauk.api.kerb.event.gameroom.GameRoomUpdateEvent;
 import com.github.smuddgge.squishydatabase.Query;
+import com.github.smuddgge.squishydatabase.console.Console;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Represents the instance of the global game manager.
@@ -44,27 +63,131 @@ import java.util.*;
  */
 public class GameManager {
 
+    /**
+     * How often a server that does not publish room lists
+     * finds the owner names for its local room lists.
+     */
+    private static final long OWNER_NAME_UPDATE_INTERVAL_MILLIS = 5000;
+
     private final @NotNull MineManiaAPI api;
-    private final @NotNull List<Arena> localArenas;
+    private final @NotNull LocalArenaRegistry localArenas;
+    private final @NotNull ArenaCache arenaCache;
+    private final @NotNull ScheduledExecutorService scheduler;
+    private final @NotNull ScheduledExecutorService roomSweeperScheduler;
+    private final @NotNull GameRoomSweeper roomSweeper;
+    private final @NotNull GameRoomListManager roomListManager;
+    private final @NotNull InviteExpiryWheel inviteExpiryWheel;
+    private final @NotNull InviteInboxCache inviteInbox;
+    private @NotNull Duration inviteExpiry;
+    private @NotNull AsyncGameManager async;
+
+    private @NotNull Duration arenaLeaseDuration;
+    private @Nullable ScheduledFuture<?> heartbeatTask;
+    private @Nullable ScheduledFuture<?> sweeperTask;
+
+    private @NotNull Duration roomSweeperInterval;
+    private @Nullable ScheduledFuture<?> roomSweeperTask;
+
+    private @NotNull Duration roomListPublishInterval;
+    private @Nullable ScheduledFuture<?> roomListPublishTask;
+
+    private @NotNull Duration gameRoomCacheRefreshInterval;
+    private @Nullable ScheduledFuture<?> gameRoomCacheRefreshTask;
 
     /**
      * Used to interact with the game manager.
+     * Database operations from the async game manager
+     * run on a default bounded executor.
      *
      * @param api The pointer to the api to sync.
      */
     public GameManager(@NotNull MineManiaAPI api) {
+        this(api, AsyncGameManager.createExecutor(4, 1000, false));
+    }
+
+    /**
+     * Used to interact with the game manager.
+     *
+     * @param api           The pointer to the api to sync.
+     * @param asyncExecutor The executor the async game manager
+     *                      runs database operations on.
+     */
+    public GameManager(@NotNull MineManiaAPI api, @NotNull ExecutorService asyncExecutor) {
         this.api = api;
-        this.localArenas = new ArrayList<>();
+        this.localArenas = new LocalArenaRegistry();
+        this.arenaCache = new ArenaCache(api, Duration.ofSeconds(60));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "MineManiaAPI-GameManager");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // The sweeper waits on kerb, so it has its own
+        // thread to not delay the lease heartbeat.
+        this.roomSweeperScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "MineManiaAPI-GameRoomSweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.async = new AsyncGameManager(this, asyncExecutor);
+        this.arenaLeaseDuration = Duration.ofSeconds(30);
+        this.scheduleLeaseTasks();
+        this.roomSweeper = new GameRoomSweeper(api);
+        this.roomSweeperInterval = Duration.ZERO;
+        this.roomListManager = new GameRoomListManager(api, this.arenaCache);
+        this.setRoomListPublishInterval(Duration.ZERO);
+        this.gameRoomCacheRefreshInterval = Duration.ZERO;
+        this.getGameRoomCache().addListener(this.roomListManager);
+        this.inviteExpiry = Duration.ofMinutes(5);
+        this.inviteExpiryWheel = new InviteExpiryWheel(1000, 512);
+        this.inviteInbox = new InviteInboxCache(
+                toPlayerUuid -> this.api.getDatabase()
+                        .getTable(GameRoomInviteCollection.class)
+                        .getInviteList(toPlayerUuid),
+                (toPlayerUuid, gameRoomUuid) -> this.api.getDatabase()
+                        .getTable(GameRoomInviteCollection.class)
+                        .getInvite(toPlayerUuid, gameRoomUuid)
+        );
+        this.inviteExpiryWheel.addListener(this.inviteInbox::remove);
+
+        // Remove the inboxes of players that went offline without being evicted.
+        this.scheduler.scheduleWithFixedDelay(
+                () -> this.runSafely(this.inviteInbox::removeIdle),
+                1, 1, TimeUnit.MINUTES
+        );
+
+        // Remove invites to game rooms that no longer exist.
+        this.getGameRoomCache().addListener((previous, current) -> {
+            if (previous != null && current == null) this.inviteInbox.removeGameRoom(previous.getUuid());
+        });
+        this.scheduler.scheduleAtFixedRate(
+                () -> this.runSafely(this.inviteExpiryWheel::tick),
+                this.inviteExpiryWheel.getTickMillis(), this.inviteExpiryWheel.getTickMillis(), TimeUnit.MILLISECONDS
+        );
 
         // Register activate listener.
         this.api.getKerbClient().registerListener(Priority.HIGH, new EventListener<GameArenaActivate>() {
             @Override
             public @Nullable Event onEvent(GameArenaActivate event) {
-                for (Arena arena : GameManager.this.localArenas) {
-                    if (!arena.getIdentifier().equals(event.getArenaIdentifier())) continue;
-                    arena.setGameRoomIdentifier(event.getGameRoomIdentifier());
-                    arena.activate();
-                }
+                GameManager.this.arenaCache.onActivate(event.getArenaIdentifier(), event.getGameRoomIdentifier());
+                final Arena arena = GameManager.this.localArenas.getArena(event.getArenaIdentifier());
+                if (arena == null) return event;
+
+                GameManager.this.localArenas.setGameRoomIdentifier(arena, event.getGameRoomIdentifier());
+                arena.activate();
+                return event;
+            }
+        });
+
+        // Register claim listener.
+        this.api.getKerbClient().registerListener(Priority.HIGH, new EventListener<GameArenaClaim>() {
+            @Override
+            public @Nullable Event onEvent(GameArenaClaim event) {
+                GameManager.this.arenaCache.onActivate(event.getArenaIdentifier(), event.getGameRoomIdentifier());
+                final Arena arena = GameManager.this.localArenas.getArena(event.getArenaIdentifier());
+                if (arena == null) return event;
+
+                GameManager.this.localArenas.setGameRoomIdentifier(arena, event.getGameRoomIdentifier());
                 return event;
             }
         });
@@ -73,10 +196,122 @@ public class GameManager {
         this.api.getKerbClient().registerListener(Priority.HIGH, new EventListener<GameArenaDeactivate>() {
             @Override
             public @Nullable Event onEvent(GameArenaDeactivate event) {
-                for (Arena arena : GameManager.this.localArenas) {
-                    if (!arena.getIdentifier().equals(event.getArenaIdentifier())) continue;
-                    arena.setGameRoomIdentifier(null);
-                    arena.deactivate();
+                GameManager.this.arenaCache.onDeactivate(event.getArenaIdentifier());
+                final Arena arena = GameManager.this.localArenas.getArena(event.getArenaIdentifier());
+                if (arena == null) return event;
+
+                GameManager.this.localArenas.setGameRoomIdentifier(arena, null);
+                arena.deactivate();
+                return event;
+            }
+        });
+
+        // Register arena register listener.
+        this.api.getKerbClient().registerListener(Priority.HIGH, new EventListener<GameArenaRegister>() {
+            @Override
+            public @Nullable Event onEvent(GameArenaRegister event) {
+                for (ArenaRecord record : event.getRecordList()) {
+                    GameManager.this.arenaCache.onRegister(record);
+                }
+                return event;
+            }
+        });
+
+        // Register arena heartbeat listener.
+        this.api.getKerbClient().registerListener(Priority.HIGH, new EventListener<GameArenaHeartbeat>() {
+            @Override
+            public @Nullable Event onEvent(GameArenaHeartbeat event) {
+                GameManager.this.arenaCache.onHeartbeat(event.getServerNames(), event.getLeaseExpiry());
+                return event;
+            }
+        });
+
+        // Register game room create listener.
+        this.api.getKerbClient().registerListener(Priority.HIGH, new EventListener<GameRoomCreateEvent>() {
+            @Override
+            public @Nullable Event onEvent(GameRoomCreateEvent event) {
+                GameManager.this.getGameRoomCache().onUpdate(event.getGameRoomUuid(), event.getSnapshot());
+                return event;
+            }
+        });
+
+        // Register game room join listener.
+        this.api.getKerbClient().registerListener(Priority.HIGH, new EventListener<GameRoomJoinEvent>() {
+            @Override
+            public @Nullable Event onEvent(GameRoomJoinEvent event) {
+                GameManager.this.getGameRoomCache().onUpdate(event.getGameRoomUuid(), event.getSnapshot());
+                return event;
+            }
+        });
+
+        // Register game room leave listener.
+        this.api.getKerbClient().registerListener(Priority.HIGH, new EventListener<GameRoomLeaveEvent>() {
+            @Override
+            public @Nullable Event onEvent(GameRoomLeaveEvent event) {
+                GameManager.this.getGameRoomCache().onUpdate(event.getGameRoomUuid(), event.getSnapshot());
+                return event;
+            }
+        });
+
+        // Register game room update listener.
+        this.api.getKerbClient().registerListener(Priority.HIGH, new EventListener<GameRoomUpdateEvent>() {
+            @Override
+            public @Nullable Event onEvent(GameRoomUpdateEvent event) {
+                GameManager.this.getGameRoomCache().onUpdate(event.getGameRoomUuid(), event.getSnapshot());
+                return event;
+            }
+        });
+
+        // Register game room invite listener.
+        this.api.getKerbClient().registerListener(Priority.HIGH, new EventListener<GameRoomInviteEvent>() {
+            @Override
+            public @Nullable Event onEvent(GameRoomInviteEvent event) {
+                for (GameRoomInviteRecord invite : event.getGameRoomInvites()) {
+                    if (GameManager.this.isLocalInvite(invite)) GameManager.this.inviteExpiryWheel.schedule(invite);
+                    GameManager.this.inviteInbox.add(invite);
+                }
+                return event;
+            }
+        });
+
+        // Register game room invite remove listener.
+        this.api.getKerbClient().registerListener(Priority.HIGH, new EventListener<GameRoomInviteRemoveEvent>() {
+            @Override
+            public @Nullable Event onEvent(GameRoomInviteRemoveEvent event) {
+                for (GameRoomInviteRecord invite : event.getGameRoomInvites()) {
+                    GameManager.this.inviteExpiryWheel.cancel(invite.getUuid());
+                    GameManager.this.inviteInbox.remove(invite);
+                }
+                return event;
+            }
+        });
+
+        // Register game room list listener.
+        this.api.getKerbClient().registerListener(Priority.HIGH, new EventListener<GameRoomListEvent>() {
+            @Override
+            public @Nullable Event onEvent(GameRoomListEvent event) {
+                GameManager.this.roomListManager.onReceive(event.getRoomList());
+                return event;
+            }
+        });
+
+        // Register game room delete listener.
+        this.api.getKerbClient().registerListener(Priority.HIGH, new EventListener<GameRoomDeleteEvent>() {
+            @Override
+            public @Nullable Event onEvent(GameRoomDeleteEvent event) {
+                for (UUID gameRoomUuid : event.getGameRoomUuids()) {
+                    GameManager.this.getGameRoomCache().onDelete(gameRoomUuid);
+                }
+                return event;
+            }
+        });
+
+        // Register arena unregister listener.
+        this.api.getKerbClient().registerListener(Priority.HIGH, new EventListener<GameArenaUnregister>() {
+            @Override
+            public @Nullable Event onEvent(GameArenaUnregister event) {
+                for (UUID identifier : event.getArenaIdentifiers()) {
+                    GameManager.this.arenaCache.onUnregister(identifier);
                 }
                 return event;
             }
@@ -91,12 +326,44 @@ public class GameManager {
      * @return This instance.
      */
     public @NotNull GameManager registerArena(@NotNull Arena arena) {
+        return this.registerArenas(List.of(arena));
+    }
 
-        // Register the arena locally.
-        this.localArenas.add(arena);
+    /**
+     * Adds many arenas to the database in one batched write,
+     * and registers them with this specific plugin.
+     *
+     * @param arenas The arenas to register.
+     * @return This instance.
+     */
+    public @NotNull GameManager registerArenas(@NotNull Collection<Arena> arenas) {
+        if (arenas.isEmpty()) return this;
+
+        // Register the arenas locally.
+        this.localArenas.registerAll(arenas);
+
+        // Check if the database is disabled.
+        if (this.api.getDatabase().isDisabled()) return this;
+
+        // Register the arenas in the database.
+        final long leaseExpiry = System.currentTimeMillis() + this.arenaLeaseDuration.toMillis();
+        final List<ArenaRecord> recordList = arenas.stream().map(Arena::asRecord).toList();
+        for (ArenaRecord record : recordList) {
+            record.leaseExpiry = leaseExpiry;
+        }
+        this.api.getDatabase()
+                .getTable(ArenaCollection.class)
+                .insertArenas(recordList);
 
-        // Register the arena in the database.
-        arena.save();
+        for (Arena arena : arenas) {
+            arena.markAsSaved();
+        }
+
+        // Update the cache and let the other servers know.
+        for (ArenaRecord record : recordList) {
+            this.arenaCache.onRegister(record);
+        }
+        this.api.getKerbClient().callEvent(new GameArenaRegister(recordList));
         return this;
     }
 
@@ -107,15 +374,35 @@ public class GameManager {
      * @return This instance.
      */
     public @NotNull GameManager unregisterArena(@NotNull UUID identifier) {
+        return this.unregisterArenas(List.of(identifier));
+    }
+
+    /**
+     * Used to unregister many arenas in the database
+     * with one query, and locally.
+     *
+     * @param identifiers The identifiers of the arenas.
+     * @return This instance.
+     */
+    public @NotNull GameManager unregisterArenas(@NotNull Collection<UUID> identifiers) {
+        if (identifiers.isEmpty()) return this;
 
-        // Unregister the arena locally.
-        this.localArenas.removeIf((arena -> arena.getIdentifier().equals(identifier)));
+        // Unregister the arenas locally.
+        this.localArenas.unregisterAll(identifiers);
 
-        // Unregister the arena in the database.
+        // Check if the database is disabled.
+        if (this.api.getDatabase().isDisabled()) return this;
+
+        // Unregister the arenas in the database.
         this.api.getDatabase()
                 .getTable(ArenaCollection.class)
-                .removeAllRecords(new Query().match("identifier", identifier.toString()));
+                .removeArenas(identifiers);
 
+        // Update the cache and let the other servers know.
+        for (UUID identifier : identifiers) {
+            this.arenaCache.onUnregister(identifier);
+        }
+        this.api.getKerbClient().callEvent(new GameArenaUnregister(List.copyOf(identifiers)));
         return this;
     }
 
@@ -125,21 +412,340 @@ public class GameManager {
      * @return This instance.
      */
     public @NotNull GameManager unregisterLocalArenas() {
-        List<UUID> identifiersToUnregister = new ArrayList<>();
-        for (Arena arena : new ArrayList<>(this.localArenas)) {
-            identifiersToUnregister.add(arena.getIdentifier());
+        return this.unregisterArenas(this.localArenas.getArenaList().stream()
+                .map(Arena::getIdentifier)
+                .toList()
+        );
+    }
+
+    /**
+     * Used to get how long an arena's lease lasts
+     * before it is renewed by this server.
+     *
+     * @return The lease duration.
+     */
+    public @NotNull Duration getArenaLeaseDuration() {
+        return this.arenaLeaseDuration;
+    }
+
+    /**
+     * Used to set how long an arena's lease lasts.
+     * The leases of the local arenas are renewed three
+     * times within this duration, and arenas on other
+     * servers that miss their renewal are removed.
+     *
+     * @param arenaLeaseDuration The lease duration.
+     * @return This instance.
+     */
+    public @NotNull GameManager setArenaLeaseDuration(@NotNull Duration arenaLeaseDuration) {
+        this.arenaLeaseDuration = arenaLeaseDuration;
+        this.scheduleLeaseTasks();
+        return this;
+    }
+
+    /**
+     * Used to renew the lease of all the local arenas
+     * with one database write, and let the other servers know.
+     * Local arenas that are missing from the database
+     * are registered again.
+     *
+     * @return This instance.
+     */
+    public @NotNull GameManager renewArenaLeases() {
+        final List<Arena> arenaList = this.localArenas.getArenaList();
+        if (arenaList.isEmpty()) return this;
+
+        // Check if the database is disabled.
+        if (this.api.getDatabase().isDisabled()) return this;
+
+        final long leaseExpiry = System.currentTimeMillis() + this.arenaLeaseDuration.toMillis();
+        final ArenaCollection collection = this.api.getDatabase().getTable(ArenaCollection.class);
+        final List<UUID> identifiers = arenaList.stream().map(Arena::getIdentifier).toList();
+        final long renewed = collection.renewLeases(identifiers, leaseExpiry);
+
+        // Register the arenas again if they were removed while this server was not renewing.
+        if (renewed < identifiers.size()) {
+            final Set<UUID> existing = collection.getExistingIdentifiers(identifiers);
+            final List<ArenaRecord> missingList = new ArrayList<>();
+            for (Arena arena : arenaList) {
+                if (existing.contains(arena.getIdentifier())) continue;
+                final ArenaRecord record = arena.asRecord();
+                record.leaseExpiry = leaseExpiry;
+                missingList.add(record);
+            }
+
+            if (!missingList.isEmpty()) {
+                collection.insertArenas(missingList);
+                for (ArenaRecord record : missingList) {
+                    this.arenaCache.onRegister(record);
+                }
+                this.api.getKerbClient().callEvent(new GameArenaRegister(missingList));
+            }
         }
 
-        // Loop though identifiers.
-        for (UUID identifier : identifiersToUnregister) {
-            this.unregisterArena(identifier);
+        final List<String> serverNames = arenaList.stream().map(Arena::getServerName).distinct().toList();
+        this.arenaCache.onHeartbeat(serverNames, leaseExpiry);
+        this.api.getKerbClient().callEvent(new GameArenaHeartbeat(serverNames, leaseExpiry));
+        return this;
+    }
+
+    /**
+     * Used to remove the arenas whose lease has expired
+     * from the database with one query, and let the
+     * other servers know.
+     *
+     * @return The identifiers of the removed arenas.
+     */
+    public @NotNull List<UUID> removeExpiredArenas() {
+
+        // Check if the database is disabled.
+        if (this.api.getDatabase().isDisabled()) return new ArrayList<>();
+
+        final List<UUID> identifiers = this.api.getDatabase()
+                .getTable(ArenaCollection.class)
+                .removeExpiredArenas();
+
+        if (identifiers.isEmpty()) return identifiers;
+
+        for (UUID identifier : identifiers) {
+            this.arenaCache.onUnregister(identifier);
         }
+        this.api.getKerbClient().callEvent(new GameArenaUnregister(identifiers));
+        return identifiers;
+    }
+
+    /**
+     * Used to get the game room sweeper.
+     * This can be used to change its limits
+     * or read how much it has removed.
+     *
+     * @return The game room sweeper.
+     */
+    public @NotNull GameRoomSweeper getRoomSweeper() {
+        return this.roomSweeper;
+    }
+
+    /**
+     * Used to get how often the game room sweeper runs.
+     *
+     * @return The time between each run.
+     */
+    public @NotNull Duration getRoomSweeperInterval() {
+        return this.roomSweeperInterval;
+    }
+
+    /**
+     * Used to set how often the game room sweeper runs.
+     * The sweeper runs on its own thread.
+     * A duration of zero will stop it from running.
+     *
+     * @param roomSweeperInterval The time between each run.
+     * @return This instance.
+     */
+    public synchronized @NotNull GameManager setRoomSweeperInterval(@NotNull Duration roomSweeperInterval) {
+        this.roomSweeperInterval = roomSweeperInterval;
+        if (this.roomSweeperTask != null) this.roomSweeperTask.cancel(false);
+        this.roomSweeperTask = null;
+
+        final long intervalMillis = roomSweeperInterval.toMillis();
+        if (intervalMillis <= 0) return this;
 
+        this.roomSweeperTask = this.roomSweeperScheduler.scheduleWithFixedDelay(
+                () -> this.runSafely(this.roomSweeper::sweep),
+                intervalMillis, intervalMillis, TimeUnit.MILLISECONDS
+        );
         return this;
     }
 
     /**
-     * Used to get the list of registered arenas in the database.
+     * Used to get the newest list of public
+     * game rooms for a game type.
+     * This does not use the database.
+     *
+     * @param gameType The type of game.
+     * @return The room list.
+     */
+    public @NotNull GameRoomList getRoomList(@NotNull GameType gameType) {
+        return this.roomListManager.getRoomList(gameType);
+    }
+
+    /**
+     * Used to get the game room list manager.
+     *
+     * @return The game room list manager.
+     */
+    public @NotNull GameRoomListManager getRoomListManager() {
+        return this.roomListManager;
+    }
+
+    /**
+     * Used to get how often the room lists are published.
+     * When zero, only the owner names are updated.
+     *
+     * @return The time between each publish.
+     */
+    public @NotNull Duration getRoomListPublishInterval() {
+        return this.roomListPublishInterval;
+    }
+
+    /**
+     * Used to set how often this server publishes the
+     * room lists that have changed.
+     * Only one server on the network needs to publish.
+     * A duration of zero will stop this server publishing,
+     * and the owner names used by the local room
+     * lists will be found every few seconds instead.
+     *
+     * @param roomListPublishInterval The time between each publish.
+     * @return This instance.
+     */
+    public synchronized @NotNull GameManager setRoomListPublishInterval(@NotNull Duration roomListPublishInterval) {
+        this.roomListPublishInterval = roomListPublishInterval;
+        if (this.roomListPublishTask != null) this.roomListPublishTask.cancel(false);
+        this.roomListPublishTask = null;
+
+        final long intervalMillis = roomListPublishInterval.toMillis();
+        if (intervalMillis <= 0) {
+            this.roomListPublishTask = this.scheduler.scheduleWithFixedDelay(
+                    () -> this.runSafely(this.roomListManager::updateOwnerNames),
+                    OWNER_NAME_UPDATE_INTERVAL_MILLIS, OWNER_NAME_UPDATE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS
+            );
+            return this;
+        }
+
+        this.roomListPublishTask = this.scheduler.scheduleAtFixedRate(
+                () -> this.runSafely(this.roomListManager::publish),
+                intervalMillis, intervalMillis, TimeUnit.MILLISECONDS
+        );
+        return this;
+    }
+
+    /**
+     * Used to get the wheel that notifies listeners when
+     * the invites sent from this server, or received for
+     * players or game rooms on this server, expire.
+     * Use {@link InviteExpiryWheel#addListener(InviteExpiryWheel.Listener)}
+     * to be notified.
+     *
+     * @return The invite expiry wheel.
+     */
+    public @NotNull InviteExpiryWheel getInviteExpiryWheel() {
+        return this.inviteExpiryWheel;
+    }
+
+    /**
+     * Used to check if an invite is used by this server, because
+     * the player it was sent to has their inbox loaded here or
+     * the game room's arena is on this server.
+     * Only these invites are added to the expiry wheel
+     * when they are received from another server.
+     *
+     * @param invite The instance of the invite.
+     * @return True if the invite is used by this server.
+     */
+    private boolean isLocalInvite(@NotNull GameRoomInviteRecord invite) {
+        return this.inviteInbox.isLoaded(invite.getToPlayerUuid())
+                || this.localArenas.getArenaFromGameRoom(invite.getGameRoomUuid()) != null;
+    }
+
+    /**
+     * Used to get how long new invites last.
+     *
+     * @return The invite expiry.
+     */
+    public @NotNull Duration getInviteExpiry() {
+        return this.inviteExpiry;
+    }
+
+    /**
+     * Used to set how long new invites last.
+     *
+     * @param inviteExpiry The invite expiry duration.
+     * @return This instance.
+     */
+    public @NotNull GameManager setInviteExpiry(@NotNull Duration inviteExpiry) {
+        this.inviteExpiry = inviteExpiry;
+        return this;
+    }
+
+    /**
+     * Used to stop the game manager's scheduled tasks.
+     * This is called by {@link MineManiaAPI#shutdown()},
+     * after the local arenas should have been unregistered.
+     */
+    public void shutdown() {
+        this.scheduler.shutdownNow();
+        this.roomSweeperScheduler.shutdownNow();
+        this.async.getWorkerExecutor().shutdown();
+    }
+
+    /**
+     * Used to get the non-blocking version of this game manager.
+     * The futures are completed on the worker threads, use
+     * {@link AsyncGameManager#withCallbackExecutor(java.util.concurrent.Executor)}
+     * to complete them on the main thread.
+     *
+     * @return The async game manager.
+     */
+    public @NotNull AsyncGameManager getAsync() {
+        return this.async;
+    }
+
+    /**
+     * Used to change the executor the async game manager
+     * runs database operations on.
+     * The previous executor will be shut down.
+     *
+     * @param executor The new worker executor.
+     * @return This instance.
+     */
+    public @NotNull GameManager setAsyncExecutor(@NotNull ExecutorService executor) {
+        final ExecutorService previous = this.async.getWorkerExecutor();
+        this.async = new AsyncGameManager(this, executor);
+        if (previous != executor) previous.shutdown();
+        return this;
+    }
+
+    /**
+     * Used to schedule the heartbeat and sweeper
+     * tasks for the current lease duration.
+     */
+    private synchronized void scheduleLeaseTasks() {
+        if (this.heartbeatTask != null) this.heartbeatTask.cancel(false);
+        if (this.sweeperTask != null) this.sweeperTask.cancel(false);
+
+        final long leaseMillis = Math.max(3, this.arenaLeaseDuration.toMillis());
+        this.heartbeatTask = this.scheduler.scheduleAtFixedRate(
+                () -> this.runSafely(this::renewArenaLeases),
+                leaseMillis / 3, leaseMillis / 3, TimeUnit.MILLISECONDS
+        );
+        this.sweeperTask = this.scheduler.scheduleAtFixedRate(
+                () -> this.runSafely(this::removeExpiredArenas),
+                leaseMillis, leaseMillis, TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * Used to run a scheduled task so an exception
+     * does not stop it from being run again.
+     *
+     * @param runnable The task to run.
+     */
+    private void runSafely(@NotNull Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (Exception exception) {
+            Console.log("Exception in a game manager task: " + exception);
+        }
+    }
+
+    /**
+     * Used to get the list of registered arenas.
+     * <li>
+     * This is served from the arena cache, which will only
+     * use a database operation if the game type has not
+     * been loaded or has expired.
+     * </li>
      *
      * @param gameType The game type to filter.
      * @return The list of arena's.
@@ -149,13 +755,64 @@ public class GameManager {
         // Check if the database is disabled.
         if (this.api.getDatabase().isDisabled()) return new ArrayList<>();
 
-        // Get the instance of the record list.
-        List<ArenaRecord> recordList = this.api.getDatabase()
-                .getTable(ArenaCollection.class)
-                .getRecordList(new Query().match("gameType", gameType.name()));
+        return this.arenaCache.getArenas(gameType);
+    }
+
+    /**
+     * Used to get the instance of the arena cache.
+     * This can be used to change the expiry duration
+     * or force the arenas to be reloaded.
+     *
+     * @return The instance of the arena cache.
+     */
+    public @NotNull ArenaCache getArenaCache() {
+        return this.arenaCache;
+    }
+
+    /**
+     * Used to get the instance of the game room cache.
+     *
+     * @return The instance of the game room cache.
+     */
+    public @NotNull GameRoomCache getGameRoomCache() {
+        return this.api.getDatabase().getTable(GameRoomCollection.class).getCache();
+    }
 
-        // Map the records to arenas.
-        return recordList.stream().map(ArenaRecord::asArena).toList();
+    /**
+     * Used to get how often the game room cache
+     * is compared with the database.
+     *
+     * @return The time between each refresh.
+     */
+    public @NotNull Duration getGameRoomCacheRefreshInterval() {
+        return this.gameRoomCacheRefreshInterval;
+    }
+
+    /**
+     * Used to set how often the game room cache is compared
+     * with the database, so a missed event is only
+     * wrong in the cache for this long.
+     * A duration of zero will stop it being refreshed.
+     *
+     * @param gameRoomCacheRefreshInterval The time between each refresh.
+     * @return This instance.
+     */
+    public synchronized @NotNull GameManager setGameRoomCacheRefreshInterval(@NotNull Duration gameRoomCacheRefreshInterval) {
+        this.gameRoomCacheRefreshInterval = gameRoomCacheRefreshInterval;
+        if (this.gameRoomCacheRefreshTask != null) this.gameRoomCacheRefreshTask.cancel(false);
+        this.gameRoomCacheRefreshTask = null;
+
+        final long intervalMillis = gameRoomCacheRefreshInterval.toMillis();
+        if (intervalMillis <= 0) return this;
+
+        this.gameRoomCacheRefreshTask = this.scheduler.scheduleWithFixedDelay(
+                () -> this.runSafely(() -> {
+                    if (this.api.getDatabase().isDisabled()) return;
+                    this.api.getDatabase().getTable(GameRoomCollection.class).refreshCache();
+                }),
+                intervalMillis, intervalMillis, TimeUnit.MILLISECONDS
+        );
+        return this;
     }
 
     /**
@@ -179,12 +836,24 @@ public class GameManager {
     }
 
     /**
-     * Used to get the instance of the local arenas.
+     * Used to get the list of local arenas.
+     * This list is a snapshot and can not be modified.
      *
-     * @return The instance of the local arenas.
+     * @return The list of local arenas.
      */
     public @NotNull List<Arena> getLocalArenas() {
-        return this.localArenas;
+        return this.localArenas.getArenaList();
+    }
+
+    /**
+     * Used to get the list of local arenas of a game type.
+     * This list is a snapshot and can not be modified.
+     *
+     * @param gameType The game type to filter.
+     * @return The list of local arenas.
+     */
+    public @NotNull List<Arena> getLocalArenas(@NotNull GameType gameType) {
+        return this.localArenas.getArenaList(gameType);
     }
 
     /**
@@ -194,10 +863,17 @@ public class GameManager {
      * @return The optional arena.
      */
     public @NotNull Optional<Arena> getLocalArena(@NotNull UUID identifier) {
-        for (Arena arena : this.localArenas) {
-            if (arena.getIdentifier().equals(identifier)) return Optional.of(arena);
-        }
-        return Optional.empty();
+        return Optional.ofNullable(this.localArenas.getArena(identifier));
+    }
+
+    /**
+     * Used to get the local arena a game room is using.
+     *
+     * @param gameRoomIdentifier The game room's identifier.
+     * @return The optional arena.
+     */
+    public @NotNull Optional<Arena> getLocalArenaFromGameRoom(@NotNull UUID gameRoomIdentifier) {
+        return Optional.ofNullable(this.localArenas.getArenaFromGameRoom(gameRoomIdentifier));
     }
 
     /**
@@ -225,38 +901,60 @@ public class GameManager {
         return list.isEmpty() ? Optional.empty() : Optional.of(list.get(0));
     }
 
+    /**
+     * Used to find an available arena and reserve it for a game room.
+     * Unlike {@link #getFirstAvailableArena(GameType, int)} this is done
+     * in one conditional database update, so two servers claiming
+     * at the same time will never be given the same arena.
+     * <li>
+     * The returned arena already has its game room identifier saved,
+     * and a {@link GameArenaClaim} event is sent so other servers
+     * update their arena cache.
+     * Call {@link Arena#activate()} to start the game.
+     * </li>
+     *
+     * @param gameType     The game type to filter.
+     * @param players      The number of players.
+     * @param gameRoomUuid The game room the arena is for.
+     * @return The claimed arena. Empty if there is non.
+     */
+    public @NotNull Optional<Arena> claimArena(@NotNull GameType gameType, int players, @NotNull UUID gameRoomUuid) {
+
+        // Check if the database is disabled.
+        if (this.api.getDatabase().isDisabled()) return Optional.empty();
+
+        final ArenaRecord record = this.api.getDatabase()
+                .getTable(ArenaCollection.class)
+                .claimArena(gameType, players, gameRoomUuid);
+
+        if (record == null) return Optional.empty();
+
+        // Update the cache here, as the event is received later.
+        final UUID arenaIdentifier = UUID.fromString(record.identifier);
+        this.arenaCache.onActivate(arenaIdentifier, gameRoomUuid);
+        this.api.callEvent(new GameArenaClaim(arenaIdentifier, gameRoomUuid));
+        return Optional.of(record.asArena());
+    }
+
     /**
      * Used to get the map of arena availability.
+     * This is read from the arena cache counters.
      * <li>Map<"Min-Max" Players, List[Available, Amount]></li>
      *
      * @param gameType The type of game arena to filter.
      * @return The map of arena availability.
      */
     public @NotNull Map<String, List<Integer>> getArenaAvailability(@NotNull GameType gameType) {
-        Map<String, List<Integer>> map = new LinkedHashMap<>();
-
-        for (Arena arena : this.getArenas(gameType)) {
-            final String key = arena.getMinPlayers() + "-" + arena.getMaxPlayers();
-
-            if (map.containsKey(key)) {
-                List<Integer> list = map.get(key);
-                map.put(key, List.of(
-                        arena.isActivated() ? list.get(0) : list.get(0) + 1,
-                        list.get(1) + 1
-                ));
-            }
 
-            map.put(key, List.of(
-                    arena.isActivated() ? 0 : 1,
-                    1
-            ));
-        }
+        // Check if the database is disabled.
+        if (this.api.getDatabase().isDisabled()) return new LinkedHashMap<>();
 
-        return map;
+        return this.arenaCache.getAvailability(gameType).asMap();
     }
 
     /**
      * Used to get the arena availability as lore.
+     * This is only rebuilt when the availability has changed.
      *
      * <li>List["Min-Max Players Available/Amount Available Arenas", ...]</li>
      *
@@ -264,13 +962,11 @@ public class GameManager {
      * @return The lore list.
      */
     public @NotNull List<String> getArenaAvailabilityAsLore(@NotNull GameType gameType) {
-        Map<String, List<Integer>> map = this.getArenaAvailability(gameType);
-        List<String> lore = new ArrayList<>();
 
-        for (Map.Entry<String, List<Integer>> entry : map.entrySet()) {
-            lore.add(entry.getKey() + " Players " + entry.getValue().get(0) + "/" + entry.getValue().get(1) + " Available Arenas");
-        }
-        return lore;
+        // Check if the database is disabled.
+        if (this.api.getDatabase().isDisabled()) return new ArrayList<>();
+
+        return this.arenaCache.getAvailability(gameType).asLore();
     }
 
     /**
@@ -280,45 +976,79 @@ public class GameManager {
      * @return The optional invite.
      */
     public @NotNull Optional<GameRoomInviteRecord> getInvite(@NotNull UUID uuid) {
-        return Optional.ofNullable(this.api.getDatabase()
+        return this.api.getDatabase()
                 .getTable(GameRoomInviteCollection.class)
-                .getFirstRecord(new Query().match("uuid", uuid.toString()))
-        );
+                .getInvite(uuid);
     }
 
     /**
-     * Used to get an invitation from the database.
+     * Used to get an invitation sent to a player.
+     * This is served from the player's invite inbox.
      *
      * @param toPlayerUuid The player it is to.
      * @param gameRoomUuid The game room it is from
      * @return The instance of the invite record.
      */
     public @NotNull Optional<GameRoomInviteRecord> getInvite(@NotNull UUID toPlayerUuid, @NotNull UUID gameRoomUuid) {
-        return Optional.ofNullable(this.api.getDatabase()
-                .getTable(GameRoomInviteCollection.class)
-                .getFirstRecord(new Query()
-                        .match("toPlayerUuid", toPlayerUuid.toString())
-                        .match("gameRoomUuid", gameRoomUuid.toString())
-                )
-        );
+        return this.inviteInbox.getInvite(toPlayerUuid, gameRoomUuid);
     }
 
     /**
      * Used to get the list of invites sent to this player.
+     * Expired invites are not included.
+     * This is served from the player's invite inbox.
      *
      * @param toPlayerUuid The player that has been sent the invites.
      * @return The list of invites.
      */
     public @NotNull List<GameRoomInviteRecord> getInviteList(@NotNull UUID toPlayerUuid) {
-        return this.api.getDatabase()
+        return this.inviteInbox.getInviteList(toPlayerUuid);
+    }
+
+    /**
+     * Used to get the cache of the invites
+     * sent to each player.
+     *
+     * @return The invite inbox cache.
+     */
+    public @NotNull InviteInboxCache getInviteInbox() {
+        return this.inviteInbox;
+    }
+
+    /**
+     * Called when a player leaves the network, or this server,
+     * to remove their cached invite inbox.
+     * This should be called by the plugin using the api, as
+     * there is no quit event. Inboxes that are not removed
+     * are kept until they have been idle for
+     * {@link InviteInboxCache#getIdleExpiry()}.
+     *
+     * @param playerUuid The player's uuid.
+     */
+    public void onPlayerQuit(@NotNull UUID playerUuid) {
+        this.inviteInbox.evict(playerUuid);
+    }
+
+    /**
+     * Used to remove an invite, for example
+     * when it has been accepted, and let the
+     * other servers know.
+     *
+     * @param invite The instance of the invite.
+     */
+    public void removeInvite(@NotNull GameRoomInviteRecord invite) {
+        this.api.getDatabase()
                 .getTable(GameRoomInviteCollection.class)
-                .getRecordList(new Query()
-                        .match("toPlayerUuid", toPlayerUuid.toString())
-                );
+                .removeInvite(invite.getUuid());
+
+        this.inviteExpiryWheel.cancel(invite.getUuid());
+        this.inviteInbox.remove(invite);
+        this.api.getKerbClient().callEvent(new GameRoomInviteRemoveEvent(invite));
     }
 
     /**
      * Used to get the invite list for a game room.
+     * Expired invites are not included.
      *
      * @param gameRoomUuid The game room uuid.
      * @return The list of game room invites.
@@ -326,9 +1056,7 @@ public class GameManager {
     public @NotNull List<GameRoomInviteRecord> getInviteListForGameRoom(@NotNull UUID gameRoomUuid) {
         return this.api.getDatabase()
                 .getTable(GameRoomInviteCollection.class)
-                .getRecordList(new Query()
-                        .match("gameRoomUuid", gameRoomUuid)
-                );
+                .getInviteListForGameRoom(gameRoomUuid);
     }
 
     /**
@@ -343,8 +1071,65 @@ public class GameManager {
         return this.getInvite(playerSentToUuid, gameRoomUuid).isPresent();
     }
 
+    /**
+     * Used to check which invites are still valid.
+     * The game rooms of every invite are checked with one query.
+     *
+     * @param invites The list of invites to check.
+     * @return The valid and invalid invites.
+     */
+    public @NotNull InviteValidationResult validateInvites(@NotNull List<GameRoomInviteRecord> invites) {
+        return this.validateInvites(invites, false);
+    }
+
+    /**
+     * Used to check which invites are still valid.
+     * An invite is invalid if it has expired or the game
+     * room no longer exists. The game rooms of every
+     * invite are checked with one query.
+     *
+     * @param invites       The list of invites to check.
+     * @param removeInvalid True to remove the invalid invites
+     *                      with one more query.
+     * @return The valid and invalid invites.
+     */
+    public @NotNull InviteValidationResult validateInvites(@NotNull List<GameRoomInviteRecord> invites, boolean removeInvalid) {
+        final Set<UUID> gameRoomUuids = new HashSet<>();
+        for (GameRoomInviteRecord invite : invites) {
+            if (invite.hasExpired()) continue;
+            gameRoomUuids.add(invite.getGameRoomUuid());
+        }
+
+        final Set<UUID> existing = this.api.getDatabase()
+                .getTable(GameRoomCollection.class)
+                .getExistingGameRoomUuids(gameRoomUuids);
+
+        final List<GameRoomInviteRecord> validList = new ArrayList<>();
+        final List<GameRoomInviteRecord> invalidList = new ArrayList<>();
+        for (GameRoomInviteRecord invite : invites) {
+            if (!invite.hasExpired() && existing.contains(invite.getGameRoomUuid())) validList.add(invite);
+            else invalidList.add(invite);
+        }
+
+        if (!removeInvalid || invalidList.isEmpty()) return new InviteValidationResult(validList, invalidList, false);
+
+        // Remove the invalid invites.
+        final List<UUID> invalidUuids = invalidList.stream().map(GameRoomInviteRecord::getUuid).toList();
+        this.api.getDatabase()
+                .getTable(GameRoomInviteCollection.class)
+                .removeInvites(invalidUuids);
+
+        for (GameRoomInviteRecord invite : invalidList) {
+            this.inviteExpiryWheel.cancel(invite.getUuid());
+            this.inviteInbox.remove(invite);
+        }
+        this.api.getKerbClient().callEvent(new GameRoomInviteRemoveEvent(invalidList));
+        return new InviteValidationResult(validList, invalidList, true);
+    }
+
     /**
      * Used to send an invitation to a player from a game room.
+     * The invite will expire after the {@link #getInviteExpiry()}.
      *
      * @param toPlayerUuid   The player it should be sent to.
      * @param gameRoomRecord The game room record it is being sent from.
@@ -356,13 +1141,58 @@ public class GameManager {
         invite.uuid = UUID.randomUUID().toString();
         invite.toPlayerUuid = toPlayerUuid.toString();
         invite.gameRoomUuid = gameRoomRecord.getUuid().toString();
+        invite.expireAt = System.currentTimeMillis() + this.inviteExpiry.toMillis();
 
         // Add to the database.
         this.api.getDatabase()
                 .getTable(GameRoomInviteCollection.class)
-                .insertRecord(invite);
+                .insertInvite(invite);
 
         // Broadcast the event.
+        this.inviteExpiryWheel.schedule(invite);
+        this.inviteInbox.add(invite);
         this.api.getKerbClient().callEvent(new GameRoomInviteEvent(gameRoomRecord, invite));
     }
+
+    /**
+     * Used to send an invitation to many players from a game room.
+     * Players that already have an invite to the game room are skipped.
+     * The invites are added with one write and sent in one event.
+     *
+     * @param toPlayerUuids  The players it should be sent to.
+     * @param gameRoomRecord The game room record it is being sent from.
+     * @return The list of invites that were sent.
+     */
+    public @NotNull List<GameRoomInviteRecord> sendInvites(@NotNull Collection<UUID> toPlayerUuids, @NotNull GameRoomRecord gameRoomRecord) {
+        final GameRoomInviteCollection collection = this.api.getDatabase().getTable(GameRoomInviteCollection.class);
+
+        // Skip the players that have already been invited.
+        final Set<UUID> invited = collection.getInvitedPlayerUuids(gameRoomRecord.getUuid(), toPlayerUuids);
+        final long expireAt = System.currentTimeMillis() + this.inviteExpiry.toMillis();
+
+        final List<GameRoomInviteRecord> inviteList = new ArrayList<>();
+        for (UUID toPlayerUuid : new LinkedHashSet<>(toPlayerUuids)) {
+            if (invited.contains(toPlayerUuid)) continue;
+
+            GameRoomInviteRecord invite = new GameRoomInviteRecord();
+            invite.uuid = UUID.randomUUID().toString();
+            invite.toPlayerUuid = toPlayerUuid.toString();
+            invite.gameRoomUuid = gameRoomRecord.getUuid().toString();
+            invite.expireAt = expireAt;
+            inviteList.add(invite);
+        }
+
+        if (inviteList.isEmpty()) return inviteList;
+
+        // Add to the database.
+        collection.insertInvites(inviteList);
+
+        // Broadcast the event.
+        for (GameRoomInviteRecord invite : inviteList) {
+            this.inviteExpiryWheel.schedule(invite);
+            this.inviteInbox.add(invite);
+        }
+        this.api.getKerbClient().callEvent(new GameRoomInviteEvent(gameRoomRecord, inviteList));
+        return inviteList;
+    }
 }
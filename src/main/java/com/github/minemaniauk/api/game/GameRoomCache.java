@@ -0,0 +1,351 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.game;
+
+import com.github.minemaniauk.api.database.collection.GameRoomCollection;
+import com.github.minemaniauk.api.database.record.GameRoomRecord;
+import com.github.minemaniauk.api.database.view.GameRoomSnapshot;
+import com.github.smuddgge.squishydatabase.console.Console;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Represents an in memory copy of the game rooms
+ * in the database, indexed by uuid, owner and player.
+ * <li>
+ * The cache is loaded with one query when the api starts
+ * and kept up to date with the game room kerb events.
+ * Snapshots are only applied if they are newer than
+ * the cached version, so events can arrive in any order.
+ * </li>
+ * <li>
+ * If an event skips a version, or has no snapshot,
+ * the game room is fetched again from the database.
+ * </li>
+ * <li>
+ * As events can still be lost, the cache should be compared
+ * with the database every so often using {@link #reconcile(Iterable, long)}.
+ * </li>
+ */
+public class GameRoomCache {
+
+    /**
+     * How long a deleted game room is remembered for,
+     * so late events do not add it back to the cache.
+     */
+    private static final long DELETED_RETENTION_MILLIS = 60000;
+
+    private final @NotNull GameRoomCollection collection;
+    private final @NotNull Map<UUID, GameRoomSnapshot> roomMap;
+    private final @NotNull Map<UUID, UUID> ownerMap;
+    private final @NotNull Map<UUID, UUID> playerMap;
+    private final @NotNull Map<UUID, Long> deletedMap;
+    private final @NotNull Map<UUID, Long> appliedMap;
+    private final @NotNull List<Listener> listenerList;
+
+    /**
+     * Represents a listener that is called
+     * when a cached game room changes.
+     * This is called while the cache is locked,
+     * so it should not block.
+     */
+    public interface Listener {
+
+        /**
+         * Called when a game room is added, updated or removed.
+         *
+         * @param previous The previous snapshot or null if it was added.
+         * @param current  The current snapshot or null if it was removed.
+         */
+        void onChange(@Nullable GameRoomSnapshot previous, @Nullable GameRoomSnapshot current);
+    }
+
+    /**
+     * Used to create a new game room cache.
+     *
+     * @param collection The collection to fetch game rooms from.
+     */
+    public GameRoomCache(@NotNull GameRoomCollection collection) {
+        this.collection = collection;
+        this.roomMap = new ConcurrentHashMap<>();
+        this.ownerMap = new ConcurrentHashMap<>();
+        this.playerMap = new ConcurrentHashMap<>();
+        this.deletedMap = new ConcurrentHashMap<>();
+        this.appliedMap = new ConcurrentHashMap<>();
+        this.listenerList = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Used to add a listener that is called
+     * when a cached game room changes.
+     *
+     * @param listener The instance of the listener.
+     * @return This instance.
+     */
+    public @NotNull GameRoomCache addListener(@NotNull Listener listener) {
+        this.listenerList.add(listener);
+        return this;
+    }
+
+    /**
+     * Used to get every cached game room.
+     *
+     * @return The list of snapshots.
+     */
+    public @NotNull List<GameRoomSnapshot> getGameRooms() {
+        return new ArrayList<>(this.roomMap.values());
+    }
+
+    /**
+     * Used to get a cached game room given its uuid.
+     *
+     * @param gameRoomUuid The game room's uuid.
+     * @return The optional snapshot of the game room.
+     */
+    public @NotNull Optional<GameRoomSnapshot> getGameRoom(@NotNull UUID gameRoomUuid) {
+        return Optional.ofNullable(this.roomMap.get(gameRoomUuid));
+    }
+
+    /**
+     * Used to get a cached game room given the owner's uuid.
+     *
+     * @param ownerUuid The owner's uuid.
+     * @return The optional snapshot of the game room.
+     */
+    public @NotNull Optional<GameRoomSnapshot> getGameRoomFromOwner(@NotNull UUID ownerUuid) {
+        final UUID gameRoomUuid = this.ownerMap.get(ownerUuid);
+        if (gameRoomUuid == null) return Optional.empty();
+
+        final GameRoomSnapshot snapshot = this.roomMap.get(gameRoomUuid);
+        if (snapshot == null || !snapshot.getOwnerUuid().equals(ownerUuid)) return Optional.empty();
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * Used to get the cached game room a player is in.
+     *
+     * @param playerUuid The player's uuid.
+     * @return The optional snapshot of the game room.
+     */
+    public @NotNull Optional<GameRoomSnapshot> getGameRoomFromPlayer(@NotNull UUID playerUuid) {
+        final UUID gameRoomUuid = this.playerMap.get(playerUuid);
+        if (gameRoomUuid == null) return Optional.empty();
+
+        final GameRoomSnapshot snapshot = this.roomMap.get(gameRoomUuid);
+        if (snapshot == null || !snapshot.getPlayerUuids().contains(playerUuid)) return Optional.empty();
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * Used to get the number of cached game rooms.
+     *
+     * @return The number of game rooms.
+     */
+    public int getSize() {
+        return this.roomMap.size();
+    }
+
+    /**
+     * Used to replace the cache with the game rooms
+     * currently in the database.
+     *
+     * @param snapshots The snapshots of every game room.
+     */
+    public synchronized void load(@NotNull Iterable<GameRoomSnapshot> snapshots) {
+        for (UUID gameRoomUuid : new ArrayList<>(this.roomMap.keySet())) {
+            this.remove(gameRoomUuid);
+        }
+
+        for (GameRoomSnapshot snapshot : snapshots) {
+            this.apply(snapshot);
+        }
+    }
+
+    /**
+     * Used to bring the cache up to date with the game rooms
+     * currently in the database.
+     * Newer snapshots are applied, and game rooms missing from the
+     * database are removed unless they were added to the cache
+     * after the snapshots were read.
+     *
+     * @param snapshots       The snapshots of every game room.
+     * @param startTimeMillis The time the snapshots started being read.
+     */
+    public synchronized void reconcile(@NotNull Iterable<GameRoomSnapshot> snapshots, long startTimeMillis) {
+        final Set<UUID> existing = new HashSet<>();
+        for (GameRoomSnapshot snapshot : snapshots) {
+            existing.add(snapshot.getUuid());
+            this.apply(snapshot);
+        }
+
+        for (UUID gameRoomUuid : new ArrayList<>(this.roomMap.keySet())) {
+            if (existing.contains(gameRoomUuid)) continue;
+            if (this.appliedMap.getOrDefault(gameRoomUuid, 0L) >= startTimeMillis) continue;
+            this.remove(gameRoomUuid);
+        }
+    }
+
+    /**
+     * Used to add a game room that was written by this server
+     * or read from the database.
+     * This will also add back a game room that was deleted.
+     *
+     * @param snapshot The snapshot of the game room.
+     */
+    public synchronized void put(@NotNull GameRoomSnapshot snapshot) {
+        this.deletedMap.remove(snapshot.getUuid());
+        this.apply(snapshot);
+    }
+
+    /**
+     * Called when a game room has been created or
+     * its players have changed on any server.
+     *
+     * @param gameRoomUuid The game room's uuid.
+     * @param snapshot     The snapshot sent with the event or null.
+     */
+    public void onUpdate(@NotNull UUID gameRoomUuid, @Nullable GameRoomSnapshot snapshot) {
+        if (snapshot == null) {
+            this.refresh(gameRoomUuid);
+            return;
+        }
+
+        final GameRoomSnapshot cached = this.roomMap.get(gameRoomUuid);
+        this.apply(snapshot);
+
+        // Check if a change was missed.
+        if (cached != null && snapshot.getVersion() > cached.getVersion() + 1) {
+            this.refresh(gameRoomUuid);
+        }
+    }
+
+    /**
+     * Called when a game room has been deleted on any server.
+     *
+     * @param gameRoomUuid The game room's uuid.
+     */
+    public synchronized void onDelete(@NotNull UUID gameRoomUuid) {
+        final long now = System.currentTimeMillis();
+        this.deletedMap.values().removeIf(deletedTime -> deletedTime < now - DELETED_RETENTION_MILLIS);
+        this.deletedMap.put(gameRoomUuid, now);
+        this.remove(gameRoomUuid);
+    }
+
+    /**
+     * Used to fetch a game room from the database
+     * and update the cache with it.
+     *
+     * @param gameRoomUuid The game room's uuid.
+     */
+    public void refresh(@NotNull UUID gameRoomUuid) {
+        final Optional<GameRoomRecord> record = this.collection.fetchGameRoom(gameRoomUuid);
+        synchronized (this) {
+            if (record.isPresent()) {
+                this.apply(new GameRoomSnapshot(record.get()));
+                return;
+            }
+            this.remove(gameRoomUuid);
+        }
+    }
+
+    /**
+     * Used to clear the cache.
+     */
+    public synchronized void clear() {
+        for (UUID gameRoomUuid : new ArrayList<>(this.roomMap.keySet())) {
+            this.remove(gameRoomUuid);
+        }
+        this.deletedMap.clear();
+    }
+
+    /**
+     * Used to add a snapshot to the cache if it is
+     * newer than the cached version.
+     *
+     * @param snapshot The snapshot of the game room.
+     * @return True if the snapshot was applied.
+     */
+    private synchronized boolean apply(@NotNull GameRoomSnapshot snapshot) {
+        if (this.deletedMap.containsKey(snapshot.getUuid())) return false;
+
+        final GameRoomSnapshot cached = this.roomMap.get(snapshot.getUuid());
+        if (cached != null && !snapshot.isNewerThan(cached)) return false;
+
+        if (cached != null) this.unindex(cached);
+        this.roomMap.put(snapshot.getUuid(), snapshot);
+        this.appliedMap.put(snapshot.getUuid(), System.currentTimeMillis());
+        this.ownerMap.put(snapshot.getOwnerUuid(), snapshot.getUuid());
+        for (UUID playerUuid : snapshot.getPlayerUuids()) {
+            this.playerMap.put(playerUuid, snapshot.getUuid());
+        }
+
+        this.callListeners(cached, snapshot);
+        return true;
+    }
+
+    /**
+     * Used to remove a game room from the cache.
+     *
+     * @param gameRoomUuid The game room's uuid.
+     */
+    private synchronized void remove(@NotNull UUID gameRoomUuid) {
+        final GameRoomSnapshot cached = this.roomMap.remove(gameRoomUuid);
+        this.appliedMap.remove(gameRoomUuid);
+        if (cached == null) return;
+
+        this.unindex(cached);
+        this.callListeners(cached, null);
+    }
+
+    /**
+     * Used to call the listeners. An exception in one
+     * listener will not stop the others being called.
+     *
+     * @param previous The previous snapshot or null.
+     * @param current  The current snapshot or null.
+     */
+    private void callListeners(@Nullable GameRoomSnapshot previous, @Nullable GameRoomSnapshot current) {
+        for (Listener listener : this.listenerList) {
+            try {
+                listener.onChange(previous, current);
+            } catch (Exception exception) {
+                Console.log("Exception in a game room cache listener: " + exception);
+            }
+        }
+    }
+
+    /**
+     * Used to remove a snapshot's owner and
+     * players from the indexes.
+     *
+     * @param snapshot The snapshot of the game room.
+     */
+    private void unindex(@NotNull GameRoomSnapshot snapshot) {
+        this.ownerMap.remove(snapshot.getOwnerUuid(), snapshot.getUuid());
+        for (UUID playerUuid : snapshot.getPlayerUuids()) {
+            this.playerMap.remove(playerUuid, snapshot.getUuid());
+        }
+    }
+}
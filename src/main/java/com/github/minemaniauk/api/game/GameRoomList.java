@@ -0,0 +1,151 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.game;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Represents a summary of the public game rooms
+ * for a game type, used to render a room list
+ * without reading the database.
+ */
+public class GameRoomList {
+
+    private final @NotNull GameType gameType;
+    private final @NotNull List<Entry> entries;
+    private final long createdTimeMillis;
+
+    /**
+     * Represents a single game room in the list.
+     */
+    public static class Entry {
+
+        private final @NotNull UUID gameRoomUuid;
+        private final @NotNull String ownerName;
+        private final int playerCount;
+        private final int capacity;
+
+        /**
+         * Used to create a room list entry.
+         *
+         * @param gameRoomUuid The game room's uuid.
+         * @param ownerName    The name of the game room's owner.
+         * @param playerCount  The number of players in the game room.
+         * @param capacity     The most players the game room can hold.
+         */
+        public Entry(@NotNull UUID gameRoomUuid, @NotNull String ownerName, int playerCount, int capacity) {
+            this.gameRoomUuid = gameRoomUuid;
+            this.ownerName = ownerName;
+            this.playerCount = playerCount;
+            this.capacity = capacity;
+        }
+
+        public @NotNull UUID getGameRoomUuid() {
+            return this.gameRoomUuid;
+        }
+
+        public @NotNull String getOwnerName() {
+            return this.ownerName;
+        }
+
+        public int getPlayerCount() {
+            return this.playerCount;
+        }
+
+        public int getCapacity() {
+            return this.capacity;
+        }
+
+        /**
+         * Used to check if the game room is full.
+         *
+         * @return True if the game room is full.
+         */
+        public boolean isFull() {
+            return this.capacity > 0 && this.playerCount >= this.capacity;
+        }
+    }
+
+    /**
+     * Used to create a room list.
+     *
+     * @param gameType          The type of game.
+     * @param entries           The entries in the list.
+     * @param createdTimeMillis When the list was created.
+     */
+    public GameRoomList(@NotNull GameType gameType, @NotNull List<Entry> entries, long createdTimeMillis) {
+        this.gameType = gameType;
+        this.entries = entries;
+        this.createdTimeMillis = createdTimeMillis;
+    }
+
+    /**
+     * Used to create an empty room list.
+     *
+     * @param gameType The type of game.
+     * @return The empty room list.
+     */
+    public static @NotNull GameRoomList empty(@NotNull GameType gameType) {
+        return new GameRoomList(gameType, List.of(), 0);
+    }
+
+    /**
+     * Used to get the type of game this list is for.
+     *
+     * @return The type of game.
+     */
+    public @NotNull GameType getGameType() {
+        return this.gameType;
+    }
+
+    /**
+     * Used to get the game rooms in this list.
+     *
+     * @return The list of entries.
+     */
+    public @NotNull List<Entry> getEntries() {
+        return Collections.unmodifiableList(this.entries);
+    }
+
+    /**
+     * Used to get when this list was created.
+     *
+     * @return The time in milliseconds.
+     */
+    public long getCreatedTimeMillis() {
+        return this.createdTimeMillis;
+    }
+
+    /**
+     * Used to check if this list was created
+     * after another room list.
+     *
+     * @param roomList The other room list.
+     * @return True if this list is newer.
+     */
+    public boolean isNewerThan(@NotNull GameRoomList roomList) {
+        return this.createdTimeMillis > roomList.createdTimeMillis;
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.game;
+
+import com.github.minemaniauk.api.MineManiaAPI;
+import com.github.minemaniauk.api.database.view.GameRoomSnapshot;
+import com.github.minemaniauk.api.kerb.event.gameroom.GameRoomListEvent;
+import com.github.minemaniauk.api.user.MineManiaUser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents the manager of the public game room lists.
+ * <li>
+ * The public game rooms of each game type are kept up to
+ * date from the {@link GameRoomCache}, and the game types
+ * that changed are marked to be published.
+ * </li>
+ * <li>
+ * The server that publishes will send at most one
+ * {@link GameRoomListEvent} per game type each time
+ * {@link #publish()} is called. Every server keeps the
+ * newest list it has received, so a lobby can render
+ * the room list without reading the database.
+ * </li>
+ * <li>
+ * Until a list is received, it is created from the game rooms
+ * this server has cached, using the owner names found by
+ * {@link #updateOwnerNames()}.
+ * </li>
+ */
+public class GameRoomListManager implements GameRoomCache.Listener {
+
+    /**
+     * How often every game type is published,
+     * even if it has not changed, so servers that
+     * started later receive the lists.
+     */
+    private static final long FULL_PUBLISH_INTERVAL_MILLIS = 30000;
+
+    /**
+     * The name shown for an owner whose
+     * name has not been found yet.
+     */
+    private static final @NotNull String UNKNOWN_OWNER_NAME = "Unknown";
+
+    private final @NotNull MineManiaAPI api;
+    private final @NotNull ArenaCache arenaCache;
+    private final @NotNull Map<GameType, Map<UUID, GameRoomSnapshot>> roomMap;
+    private final @NotNull Set<GameType> changedSet;
+    private final @NotNull Map<GameType, GameRoomList> roomListMap;
+    private final @NotNull Map<UUID, String> ownerNameMap;
+    private long lastFullPublishMillis;
+
+    /**
+     * Used to create a new game room list manager.
+     *
+     * @param api        The instance of the api.
+     * @param arenaCache The arena cache used to get the capacity of each game type.
+     */
+    public GameRoomListManager(@NotNull MineManiaAPI api, @NotNull ArenaCache arenaCache) {
+        this.api = api;
+        this.arenaCache = arenaCache;
+        this.roomMap = new ConcurrentHashMap<>();
+        this.changedSet = ConcurrentHashMap.newKeySet();
+        this.roomListMap = new ConcurrentHashMap<>();
+        this.ownerNameMap = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void onChange(@Nullable GameRoomSnapshot previous, @Nullable GameRoomSnapshot current) {
+        if (previous != null) {
+            final Map<UUID, GameRoomSnapshot> map = this.roomMap.get(previous.getGameType());
+            if (map != null && map.remove(previous.getUuid()) != null) {
+                this.changedSet.add(previous.getGameType());
+            }
+        }
+
+        if (current == null || current.isPrivate()) return;
+        this.roomMap.computeIfAbsent(current.getGameType(), type -> new ConcurrentHashMap<>())
+                .put(current.getUuid(), current);
+        this.changedSet.add(current.getGameType());
+    }
+
+    /**
+     * Used to get the newest room list for a game type.
+     * If none has been received, the list is created from
+     * the game rooms this server has cached.
+     *
+     * @param gameType The type of game.
+     * @return The room list.
+     */
+    public @NotNull GameRoomList getRoomList(@NotNull GameType gameType) {
+        final GameRoomList roomList = this.roomListMap.get(gameType);
+        if (roomList != null) return roomList;
+        return this.createRoomList(gameType, System.currentTimeMillis(), false);
+    }
+
+    /**
+     * Called when a room list has been received.
+     * The list is kept if it is newer than the current one.
+     *
+     * @param roomList The instance of the room list.
+     */
+    public void onReceive(@NotNull GameRoomList roomList) {
+        this.roomListMap.merge(roomList.getGameType(), roomList,
+                (current, received) -> received.isNewerThan(current) ? received : current
+        );
+    }
+
+    /**
+     * Used to send the room lists of the game types that
+     * have changed since the last call.
+     * Every game type is sent again after
+     * {@link #FULL_PUBLISH_INTERVAL_MILLIS}.
+     */
+    public synchronized void publish() {
+        final long now = System.currentTimeMillis();
+
+        final Set<GameType> gameTypeSet = EnumSet.noneOf(GameType.class);
+        if (now - this.lastFullPublishMillis >= FULL_PUBLISH_INTERVAL_MILLIS) {
+            gameTypeSet.addAll(Arrays.asList(GameType.values()));
+            this.lastFullPublishMillis = now;
+        }
+
+        for (Iterator<GameType> iterator = this.changedSet.iterator(); iterator.hasNext(); ) {
+            gameTypeSet.add(iterator.next());
+            iterator.remove();
+        }
+
+        this.loadOwnerNames(gameTypeSet);
+        for (GameType gameType : gameTypeSet) {
+            final GameRoomList roomList = this.createRoomList(gameType, now, true);
+            this.onReceive(roomList);
+            this.api.callEvent(new GameRoomListEvent(roomList));
+        }
+
+        this.removeUnusedOwnerNames();
+    }
+
+    /**
+     * Used to create the room list for a game type
+     * from the public game rooms.
+     *
+     * @param gameType          The type of game.
+     * @param createdTimeMillis The time to create the list at.
+     * @param loadCapacity      True to load the game type's arenas
+     *                          if they are not cached.
+     * @return The room list.
+     */
+    private @NotNull GameRoomList createRoomList(@NotNull GameType gameType, long createdTimeMillis, boolean loadCapacity) {
+        final Map<UUID, GameRoomSnapshot> map = this.roomMap.getOrDefault(gameType, Map.of());
+        final int capacity = this.getCapacity(gameType, loadCapacity);
+
+        final List<GameRoomList.Entry> entryList = new ArrayList<>(map.size());
+        for (GameRoomSnapshot snapshot : map.values()) {
+            entryList.add(new GameRoomList.Entry(
+                    snapshot.getUuid(),
+                    this.getOwnerName(snapshot.getOwnerUuid()),
+                    snapshot.getPlayerUuids().size(),
+                    capacity
+            ));
+        }
+
+        return new GameRoomList(gameType, entryList, createdTimeMillis);
+    }
+
+    /**
+     * Used to get the most players an arena
+     * of a game type can hold.
+     * This is read from the cached arena availability.
+     *
+     * @param gameType The type of game.
+     * @param load     True to load the game type's arenas if
+     *                 they are not cached, which uses the database.
+     * @return The capacity or 0 if it is not known.
+     */
+    private int getCapacity(@NotNull GameType gameType, boolean load) {
+        if (load) return this.arenaCache.getAvailability(gameType).getMaxPlayers();
+
+        final ArenaAvailability availability = this.arenaCache.getLoadedAvailability(gameType);
+        if (availability == null) return 0;
+        return availability.getMaxPlayers();
+    }
+
+    /**
+     * Used to find the names of the owners of every
+     * public game room that are not known yet, and forget
+     * the names of players that no longer own one.
+     * This is done by {@link #publish()}, so it only needs to
+     * be called on servers that do not publish.
+     */
+    public synchronized void updateOwnerNames() {
+        this.loadOwnerNames(EnumSet.allOf(GameType.class));
+        this.removeUnusedOwnerNames();
+    }
+
+    /**
+     * Used to get the names of the owners of the game rooms
+     * in the game types that are not known yet, with one request.
+     *
+     * @param gameTypeSet The game types that will be published.
+     */
+    private void loadOwnerNames(@NotNull Set<GameType> gameTypeSet) {
+        final Set<UUID> missingSet = new HashSet<>();
+        for (GameType gameType : gameTypeSet) {
+            for (GameRoomSnapshot snapshot : this.roomMap.getOrDefault(gameType, Map.of()).values()) {
+                if (!this.ownerNameMap.containsKey(snapshot.getOwnerUuid())) missingSet.add(snapshot.getOwnerUuid());
+            }
+        }
+
+        if (missingSet.isEmpty()) return;
+        for (MineManiaUser user : this.api.getContract().getUsers(missingSet)) {
+            this.ownerNameMap.put(user.getUniqueId(), user.getName());
+        }
+    }
+
+    /**
+     * Used to get the name of a game room owner
+     * that was found by {@link #loadOwnerNames(Set)}.
+     * Names are kept while the owner has a public game room.
+     *
+     * @param ownerUuid The owner's uuid.
+     * @return The owner's name or {@link #UNKNOWN_OWNER_NAME}.
+     */
+    private @NotNull String getOwnerName(@NotNull UUID ownerUuid) {
+        return this.ownerNameMap.getOrDefault(ownerUuid, UNKNOWN_OWNER_NAME);
+    }
+
+    /**
+     * Used to remove the names of players that
+     * no longer own a public game room.
+     */
+    private void removeUnusedOwnerNames() {
+        final Set<UUID> ownerSet = new HashSet<>();
+        for (Map<UUID, GameRoomSnapshot> map : this.roomMap.values()) {
+            for (GameRoomSnapshot snapshot : map.values()) {
+                ownerSet.add(snapshot.getOwnerUuid());
+            }
+        }
+        this.ownerNameMap.keySet().retainAll(ownerSet);
+    }
+}
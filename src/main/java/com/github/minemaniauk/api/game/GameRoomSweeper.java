@@ -0,0 +1,313 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.game;
+
+import com.github.kerbity.kerb.result.CompletableResultSet;
+import com.github.minemaniauk.api.MineManiaAPI;
+import com.github.minemaniauk.api.database.collection.GameRoomCollection;
+import com.github.minemaniauk.api.database.collection.GameRoomInviteCollection;
+import com.github.minemaniauk.api.database.view.GameRoomMembershipView;
+import com.github.minemaniauk.api.kerb.event.useraction.UserActionIsOnlineEvent;
+import com.github.minemaniauk.api.user.MineManiaUser;
+import com.github.smuddgge.squishydatabase.console.Console;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents the maintenance job that removes
+ * game rooms with no online players and invites
+ * to game rooms that no longer exist.
+ * <li>
+ * Each run checks at most {@link #getMaxRoomsPerRun()} game rooms,
+ * continuing from where the last run stopped, and deletes
+ * in batches of {@link #getBatchSize()}.
+ * </li>
+ * <li>
+ * The players in a batch are checked together, and a run
+ * stops early once it has taken longer than {@link #getMaxRunDuration()}.
+ * </li>
+ * <li>
+ * A game room is only removed when every player has been
+ * reported offline. If a check fails or is not answered the
+ * game room is kept, and a game room that has changed since
+ * it was checked is not removed.
+ * </li>
+ * <li>
+ * The sweeper is disabled by default and should
+ * only be enabled on a single server.
+ * </li>
+ */
+public class GameRoomSweeper {
+
+    private final @NotNull MineManiaAPI api;
+    private int maxRoomsPerRun;
+    private int batchSize;
+    private @NotNull Duration maxRunDuration;
+    private @Nullable UUID lastGameRoomUuid;
+
+    private final @NotNull AtomicLong runCount;
+    private final @NotNull AtomicLong removedGameRoomCount;
+    private final @NotNull AtomicLong removedInviteCount;
+
+    /**
+     * Used to create a new game room sweeper.
+     *
+     * @param api The instance of the api.
+     */
+    public GameRoomSweeper(@NotNull MineManiaAPI api) {
+        this.api = api;
+        this.maxRoomsPerRun = 500;
+        this.batchSize = 100;
+        this.maxRunDuration = Duration.ofSeconds(10);
+        this.runCount = new AtomicLong();
+        this.removedGameRoomCount = new AtomicLong();
+        this.removedInviteCount = new AtomicLong();
+    }
+
+    /**
+     * Used to remove the orphaned game rooms
+     * and then the dangling invites.
+     */
+    public synchronized void sweep() {
+
+        // Check if the database is disabled.
+        if (this.api.getDatabase().isDisabled()) return;
+
+        this.sweepGameRooms();
+        this.sweepInvites();
+        this.runCount.incrementAndGet();
+    }
+
+    /**
+     * Used to remove the game rooms in the next
+     * page that have no online players.
+     *
+     * @return The uuids of the removed game rooms.
+     */
+    public synchronized @NotNull List<UUID> sweepGameRooms() {
+        final long deadline = System.currentTimeMillis() + this.maxRunDuration.toMillis();
+        final GameRoomCollection collection = this.api.getDatabase().getTable(GameRoomCollection.class);
+        final List<GameRoomMembershipView> viewList = collection.getMembershipViews(this.lastGameRoomUuid, this.maxRoomsPerRun);
+
+        final List<UUID> removedList = new ArrayList<>();
+        for (List<GameRoomMembershipView> batch : this.partition(viewList)) {
+
+            // Continue from this batch next run.
+            if (System.currentTimeMillis() >= deadline) return removedList;
+
+            final List<GameRoomMembershipView> orphanedList = this.getOrphanedGameRooms(batch);
+            this.lastGameRoomUuid = batch.get(batch.size() - 1).getUuid();
+            if (orphanedList.isEmpty()) continue;
+
+            final List<UUID> deletedList = collection.deleteGameRooms(orphanedList);
+            if (deletedList.isEmpty()) continue;
+
+            this.removedGameRoomCount.addAndGet(deletedList.size());
+            removedList.addAll(deletedList);
+        }
+
+        // Start from the beginning once every game room has been checked.
+        if (viewList.size() < this.maxRoomsPerRun) this.lastGameRoomUuid = null;
+        return removedList;
+    }
+
+    /**
+     * Used to remove the invites to game rooms
+     * that no longer exist.
+     *
+     * @return The number of invites removed.
+     */
+    public synchronized long sweepInvites() {
+        final GameRoomCollection gameRoomCollection = this.api.getDatabase().getTable(GameRoomCollection.class);
+        final GameRoomInviteCollection inviteCollection = this.api.getDatabase().getTable(GameRoomInviteCollection.class);
+
+        long removed = 0;
+        for (List<UUID> batch : this.partition(inviteCollection.getInvitedGameRoomUuids())) {
+            final Set<UUID> existing = gameRoomCollection.getExistingGameRoomUuids(batch);
+            final List<UUID> danglingList = batch.stream().filter(uuid -> !existing.contains(uuid)).toList();
+            removed += inviteCollection.removeInvitesToGameRooms(danglingList);
+        }
+
+        this.removedInviteCount.addAndGet(removed);
+        return removed;
+    }
+
+    /**
+     * Used to get the number of times the sweeper has run.
+     *
+     * @return The number of runs.
+     */
+    public long getRunCount() {
+        return this.runCount.get();
+    }
+
+    /**
+     * Used to get the number of game rooms
+     * this sweeper has removed.
+     *
+     * @return The number of game rooms removed.
+     */
+    public long getRemovedGameRoomCount() {
+        return this.removedGameRoomCount.get();
+    }
+
+    /**
+     * Used to get the number of invites
+     * this sweeper has removed.
+     *
+     * @return The number of invites removed.
+     */
+    public long getRemovedInviteCount() {
+        return this.removedInviteCount.get();
+    }
+
+    /**
+     * Used to get the most game rooms that
+     * will be checked each run.
+     *
+     * @return The most game rooms to check.
+     */
+    public int getMaxRoomsPerRun() {
+        return this.maxRoomsPerRun;
+    }
+
+    /**
+     * Used to set the most game rooms that
+     * will be checked each run.
+     *
+     * @param maxRoomsPerRun The most game rooms to check.
+     * @return This instance.
+     */
+    public @NotNull GameRoomSweeper setMaxRoomsPerRun(int maxRoomsPerRun) {
+        this.maxRoomsPerRun = Math.max(1, maxRoomsPerRun);
+        return this;
+    }
+
+    /**
+     * Used to get the most records removed
+     * with a single query.
+     *
+     * @return The batch size.
+     */
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * Used to set the most records removed
+     * with a single query.
+     *
+     * @param batchSize The batch size.
+     * @return This instance.
+     */
+    public @NotNull GameRoomSweeper setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+        return this;
+    }
+
+    /**
+     * Used to get how long a run can take before it stops
+     * and continues from the same place next run.
+     *
+     * @return The most time a run can take.
+     */
+    public @NotNull Duration getMaxRunDuration() {
+        return this.maxRunDuration;
+    }
+
+    /**
+     * Used to set how long a run can take before it stops
+     * and continues from the same place next run.
+     *
+     * @param maxRunDuration The most time a run can take.
+     * @return This instance.
+     */
+    public @NotNull GameRoomSweeper setMaxRunDuration(@NotNull Duration maxRunDuration) {
+        this.maxRunDuration = maxRunDuration;
+        return this;
+    }
+
+    /**
+     * Used to get the game rooms where every player
+     * has been reported offline.
+     * The online checks for every player in the batch are
+     * sent before waiting for any of the results.
+     *
+     * @param batch The game rooms to check.
+     * @return The game rooms with no online players.
+     */
+    private @NotNull List<GameRoomMembershipView> getOrphanedGameRooms(@NotNull List<GameRoomMembershipView> batch) {
+        final Set<UUID> playerUuidSet = new HashSet<>();
+        for (GameRoomMembershipView view : batch) {
+            playerUuidSet.addAll(view.getPlayerUuids());
+        }
+
+        final Set<UUID> offlineSet = new HashSet<>();
+        try {
+            final Map<UUID, CompletableResultSet<UserActionIsOnlineEvent>> resultMap = new HashMap<>();
+            for (MineManiaUser user : this.api.getContract().getUsers(new ArrayList<>(playerUuidSet))) {
+                resultMap.put(user.getUniqueId(), this.api.callEvent(new UserActionIsOnlineEvent(user)));
+            }
+
+            for (Map.Entry<UUID, CompletableResultSet<UserActionIsOnlineEvent>> entry : resultMap.entrySet()) {
+                final CompletableResultSet<UserActionIsOnlineEvent> result = entry.getValue().waitForComplete();
+
+                // Only count players a server said are offline.
+                if (result.containsSettable(true)) continue;
+                if (!result.containsSettable(false)) continue;
+                offlineSet.add(entry.getKey());
+            }
+        } catch (Exception exception) {
+            Console.log("Unable to check if the players in a game room are online: " + exception.getMessage());
+            return List.of();
+        }
+
+        // Keep the game room unless every player is offline.
+        return batch.stream()
+                .filter(view -> offlineSet.containsAll(view.getPlayerUuids()))
+                .toList();
+    }
+
+    /**
+     * Used to split a list into lists no
+     * larger than the batch size.
+     *
+     * @param list The list to split.
+     * @return The list of batches.
+     */
+    private <T> @NotNull List<List<T>> partition(@NotNull List<T> list) {
+        final List<List<T>> batchList = new ArrayList<>();
+        for (int index = 0; index < list.size(); index += this.batchSize) {
+            batchList.add(list.subList(index, Math.min(list.size(), index + this.batchSize)));
+        }
+        return batchList;
+    }
+}
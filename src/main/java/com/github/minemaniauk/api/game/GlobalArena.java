@@ -22,15 +22,17 @@ package com.github.minemaniauk.api.game;
 
 import com.github.kerbity.kerb.client.KerbClient;
 import com.github.minemaniauk.api.MineManiaAPI;
+import com.github.minemaniauk.api.database.collection.ArenaCollection;
 import com.github.minemaniauk.api.database.record.ArenaRecord;
 import com.github.minemaniauk.api.kerb.event.game.GameArenaActivate;
 import com.github.minemaniauk.api.kerb.event.game.GameArenaDeactivate;
-import com.github.squishylib.configuration.implementation.MemoryConfigurationSection;
-import com.google.gson.Gson;
+import com.github.squishylib.configuration.ConfigurationSection;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents a global arena.
@@ -39,6 +41,43 @@ import java.util.UUID;
  */
 public class GlobalArena extends Arena {
 
+    private static final @NotNull Map<UUID, DecodedDisplayItem> DISPLAY_ITEM_CACHE = new ConcurrentHashMap<>();
+
+    private volatile boolean displayItemLoaded;
+
+    /**
+     * Represents a decoded display item section
+     * and the json it was decoded from.
+     */
+    private static class DecodedDisplayItem {
+
+        private final int hash;
+        private final @NotNull String json;
+        private final @NotNull ConfigurationSection section;
+
+        /**
+         * Used to create a decoded display item.
+         *
+         * @param json    The json it was decoded from.
+         * @param section The decoded section.
+         */
+        private DecodedDisplayItem(@NotNull String json, @NotNull ConfigurationSection section) {
+            this.hash = json.hashCode();
+            this.json = json;
+            this.section = section;
+        }
+
+        /**
+         * Used to check if this was decoded from the same json.
+         *
+         * @param json The json to compare.
+         * @return True if it is the same json.
+         */
+        private boolean matches(@NotNull String json) {
+            return this.hash == json.hashCode() && this.json.equals(json);
+        }
+    }
+
     /**
      * Used to create an instance of a global arena.
      *
@@ -46,18 +85,94 @@ public class GlobalArena extends Arena {
      *               to abstract.
      */
     public GlobalArena(@NotNull ArenaRecord record) {
+        this(record, true);
+    }
+
+    /**
+     * Used to create an instance of a global arena
+     * from a record that may have been read
+     * without its display item.
+     *
+     * @param record            The instance of the arena record
+     *                          to abstract.
+     * @param displayItemLoaded False if the record was read without
+     *                          its display item, so it is read from
+     *                          the database when first used.
+     */
+    public GlobalArena(@NotNull ArenaRecord record, boolean displayItemLoaded) {
         super(UUID.fromString(record.identifier), record.serverName, GameType.valueOf(record.gameType));
         this.setGameRoomIdentifier(record.gameRoomIdentifier == null ? null : UUID.fromString(record.gameRoomIdentifier));
         this.setMinPlayers(record.minPlayers);
         this.setMaxPlayers(record.maxPlayers);
         if (record.mapName != null) this.setMapName(record.mapName);
 
-        // Check if there is a display item section.
-        if (record.displayItemSection != null) {
-            this.setDisplayItemSection(new MemoryConfigurationSection(
-                    new Gson().fromJson(record.displayItemSection, HashMap.class)
-            ));
-        }
+        // The display item is only decoded when it is used.
+        this.setDisplayItemJson(record.displayItemSection);
+        this.displayItemLoaded = displayItemLoaded;
+
+        // This instance matches the database.
+        this.markAsSaved();
+    }
+
+    @Override
+    public @NotNull Arena setDisplayItemSection(@NotNull ConfigurationSection section) {
+        this.displayItemLoaded = true;
+        return super.setDisplayItemSection(section);
+    }
+
+    /**
+     * Reads the display item from the database the first
+     * time it is used, if it was not read with the arena.
+     *
+     * @return The display item json or null.
+     */
+    @Override
+    protected @Nullable String getDisplayItemJson() {
+        if (!this.displayItemLoaded) this.loadDisplayItem();
+        return super.getDisplayItemJson();
+    }
+
+    /**
+     * Used to read the display item from the database.
+     */
+    private synchronized void loadDisplayItem() {
+        if (this.displayItemLoaded) return;
+
+        // Check if the database is disabled.
+        if (MineManiaAPI.getInstance().getDatabase().isDisabled()) return;
+
+        this.setDisplayItemJson(MineManiaAPI.getInstance().getDatabase()
+                .getTable(ArenaCollection.class)
+                .getDisplayItemJson(this.getIdentifier()));
+        this.displayItemLoaded = true;
+    }
+
+    /**
+     * Decoded display items are shared between global arenas
+     * with the same identifier and display item json, so the
+     * returned section should not be changed directly.
+     *
+     * @param json The display item json.
+     * @return The configuration section.
+     */
+    @Override
+    protected @NotNull ConfigurationSection decodeDisplayItem(@NotNull String json) {
+        final DecodedDisplayItem cached = DISPLAY_ITEM_CACHE.get(this.getIdentifier());
+        if (cached != null && cached.matches(json)) return cached.section;
+
+        final ConfigurationSection section = super.decodeDisplayItem(json);
+        DISPLAY_ITEM_CACHE.put(this.getIdentifier(), new DecodedDisplayItem(json, section));
+        return section;
+    }
+
+    /**
+     * Used to remove an arena's decoded display item
+     * once the arena has been unregistered.
+     *
+     * @param identifier The arena's identifier.
+     */
+    public static void removeCachedDisplayItem(@NotNull UUID identifier) {
+        DISPLAY_ITEM_CACHE.remove(identifier);
     }
 
     /**
@@ -0,0 +1,210 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.game;
+
+import com.github.minemaniauk.api.database.record.GameRoomInviteRecord;
+import com.github.smuddgge.squishydatabase.console.Console;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Represents a hashed timing wheel used to
+ * notify listeners when invites expire.
+ * <li>
+ * The wheel is split into buckets that each cover one tick.
+ * An invite is placed in the bucket it expires in, with the
+ * number of full turns left before it is due. Each call to
+ * {@link #tick()} only looks at the next bucket, so the cost
+ * does not depend on how many invites are waiting.
+ * </li>
+ */
+public class InviteExpiryWheel {
+
+    private final long tickMillis;
+    private final @NotNull List<List<Entry>> bucketList;
+    private final @NotNull Map<UUID, Entry> entryMap;
+    private final @NotNull List<Listener> listenerList;
+    private int cursor;
+
+    /**
+     * Represents a listener that is called
+     * when an invite expires.
+     */
+    public interface Listener {
+
+        /**
+         * Called when an invite has expired.
+         *
+         * @param invite The instance of the invite.
+         */
+        void onExpire(@NotNull GameRoomInviteRecord invite);
+    }
+
+    /**
+     * Represents an invite waiting in the wheel.
+     */
+    private static class Entry {
+
+        private final @NotNull GameRoomInviteRecord invite;
+        private final int bucketIndex;
+        private int rounds;
+
+        /**
+         * Used to create a new entry.
+         *
+         * @param invite      The instance of the invite.
+         * @param bucketIndex The index of the bucket it is in.
+         * @param rounds      The turns of the wheel left before it is due.
+         */
+        private Entry(@NotNull GameRoomInviteRecord invite, int bucketIndex, int rounds) {
+            this.invite = invite;
+            this.bucketIndex = bucketIndex;
+            this.rounds = rounds;
+        }
+    }
+
+    /**
+     * Used to create a new invite expiry wheel.
+     *
+     * @param tickMillis  The time each bucket covers.
+     * @param bucketCount The number of buckets in the wheel.
+     */
+    public InviteExpiryWheel(long tickMillis, int bucketCount) {
+        this.tickMillis = Math.max(1, tickMillis);
+        this.bucketList = new ArrayList<>(bucketCount);
+        for (int index = 0; index < Math.max(1, bucketCount); index++) {
+            this.bucketList.add(new ArrayList<>());
+        }
+        this.entryMap = new ConcurrentHashMap<>();
+        this.listenerList = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Used to get the time each bucket covers.
+     *
+     * @return The time in milliseconds.
+     */
+    public long getTickMillis() {
+        return this.tickMillis;
+    }
+
+    /**
+     * Used to add a listener that is called
+     * when an invite expires.
+     *
+     * @param listener The instance of the listener.
+     * @return This instance.
+     */
+    public @NotNull InviteExpiryWheel addListener(@NotNull Listener listener) {
+        this.listenerList.add(listener);
+        return this;
+    }
+
+    /**
+     * Used to get the number of invites waiting to expire.
+     *
+     * @return The number of invites.
+     */
+    public int getSize() {
+        return this.entryMap.size();
+    }
+
+    /**
+     * Used to add an invite to the wheel.
+     * Invites that do not expire, or are
+     * already in the wheel, are ignored.
+     *
+     * @param invite The instance of the invite.
+     */
+    public synchronized void schedule(@NotNull GameRoomInviteRecord invite) {
+        if (invite.expireAt <= 0) return;
+        if (this.entryMap.containsKey(invite.getUuid())) return;
+
+        final long delayMillis = Math.max(0, invite.expireAt - System.currentTimeMillis());
+        final long ticks = Math.max(1, (delayMillis + this.tickMillis - 1) / this.tickMillis);
+        final int size = this.bucketList.size();
+
+        final Entry entry = new Entry(invite, (int) ((this.cursor + ticks) % size), (int) ((ticks - 1) / size));
+        this.bucketList.get(entry.bucketIndex).add(entry);
+        this.entryMap.put(invite.getUuid(), entry);
+    }
+
+    /**
+     * Used to remove an invite from the wheel,
+     * for example when it has been accepted.
+     *
+     * @param inviteUuid The invite's uuid.
+     */
+    public synchronized void cancel(@NotNull UUID inviteUuid) {
+        final Entry entry = this.entryMap.remove(inviteUuid);
+        if (entry == null) return;
+        this.bucketList.get(entry.bucketIndex).remove(entry);
+    }
+
+    /**
+     * Used to move the wheel forward one tick and
+     * notify the listeners of the invites that expired.
+     * This should be called every {@link #getTickMillis()}.
+     */
+    public void tick() {
+        final List<GameRoomInviteRecord> expiredList = new ArrayList<>();
+
+        synchronized (this) {
+            this.cursor = (this.cursor + 1) % this.bucketList.size();
+
+            for (Iterator<Entry> iterator = this.bucketList.get(this.cursor).iterator(); iterator.hasNext(); ) {
+                final Entry entry = iterator.next();
+                if (entry.rounds > 0) {
+                    entry.rounds--;
+                    continue;
+                }
+
+                iterator.remove();
+                this.entryMap.remove(entry.invite.getUuid());
+                expiredList.add(entry.invite);
+            }
+        }
+
+        // Notify outside the lock so listeners can schedule or cancel.
+        for (GameRoomInviteRecord invite : expiredList) {
+            for (Listener listener : this.listenerList) {
+                try {
+                    listener.onExpire(invite);
+                } catch (Exception exception) {
+                    Console.log("Exception in an invite expiry listener: " + exception);
+                }
+            }
+        }
+    }
+
+    /**
+     * Used to remove every invite from the wheel.
+     */
+    public synchronized void clear() {
+        for (List<Entry> bucket : this.bucketList) {
+            bucket.clear();
+        }
+        this.entryMap.clear();
+    }
+}
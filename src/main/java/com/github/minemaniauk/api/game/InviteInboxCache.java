@@ -0,0 +1,373 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.game;
+
+import com.github.minemaniauk.api.database.record.GameRoomInviteRecord;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Represents an in memory inbox of the invites
+ * sent to each player.
+ * <li>
+ * A player's inbox is loaded from the database the first
+ * time it is requested and then kept up to date with the
+ * invite events and the invites written by this server.
+ * Changes made while an inbox is loading are applied
+ * to it once it has loaded.
+ * </li>
+ * <li>
+ * At most {@link #getMaxPlayers()} inboxes are kept, removing
+ * the least recently used, and each inbox holds at most
+ * {@link #getMaxInvitesPerPlayer()} invites, removing the oldest.
+ * Once an inbox has removed an invite it is incomplete, and
+ * lookups it cannot answer are read from the database.
+ * </li>
+ * <li>
+ * An inbox should be evicted when the player goes offline.
+ * Inboxes that have not been read for {@link #getIdleExpiry()}
+ * are also removed by {@link #removeIdle()}, in case they were not.
+ * </li>
+ */
+public class InviteInboxCache {
+
+    private final @NotNull Function<UUID, List<GameRoomInviteRecord>> loader;
+    private final @NotNull BiFunction<UUID, UUID, Optional<GameRoomInviteRecord>> inviteLoader;
+    private final @NotNull LinkedHashMap<UUID, Inbox> inboxMap;
+    private final @NotNull Map<UUID, List<Consumer<Inbox>>> pendingMap;
+    private int maxPlayers;
+    private int maxInvitesPerPlayer;
+    private @NotNull Duration idleExpiry;
+
+    /**
+     * Represents the invites sent to a single player.
+     */
+    private static class Inbox {
+
+        private final @NotNull LinkedHashMap<UUID, GameRoomInviteRecord> inviteMap = new LinkedHashMap<>();
+        private boolean complete = true;
+        private long lastReadMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Used to create a new invite inbox cache.
+     *
+     * @param loader       Used to load the invites sent to a player.
+     * @param inviteLoader Used to load the invite sent to a player from
+     *                     a game room when the inbox is incomplete.
+     */
+    public InviteInboxCache(@NotNull Function<UUID, List<GameRoomInviteRecord>> loader,
+                            @NotNull BiFunction<UUID, UUID, Optional<GameRoomInviteRecord>> inviteLoader) {
+
+        this.loader = loader;
+        this.inviteLoader = inviteLoader;
+        this.maxPlayers = 1000;
+        this.maxInvitesPerPlayer = 50;
+        this.idleExpiry = Duration.ofMinutes(10);
+        this.pendingMap = new HashMap<>();
+        this.inboxMap = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Inbox> eldest) {
+                return this.size() > InviteInboxCache.this.maxPlayers;
+            }
+        };
+    }
+
+    /**
+     * Used to get the most inboxes that will be kept.
+     *
+     * @return The most inboxes.
+     */
+    public int getMaxPlayers() {
+        return this.maxPlayers;
+    }
+
+    /**
+     * Used to set the most inboxes that will be kept.
+     *
+     * @param maxPlayers The most inboxes.
+     * @return This instance.
+     */
+    public synchronized @NotNull InviteInboxCache setMaxPlayers(int maxPlayers) {
+        this.maxPlayers = Math.max(1, maxPlayers);
+        return this;
+    }
+
+    /**
+     * Used to get the most invites kept in each inbox.
+     *
+     * @return The most invites per inbox.
+     */
+    public int getMaxInvitesPerPlayer() {
+        return this.maxInvitesPerPlayer;
+    }
+
+    /**
+     * Used to set the most invites kept in each inbox.
+     *
+     * @param maxInvitesPerPlayer The most invites per inbox.
+     * @return This instance.
+     */
+    public synchronized @NotNull InviteInboxCache setMaxInvitesPerPlayer(int maxInvitesPerPlayer) {
+        this.maxInvitesPerPlayer = Math.max(1, maxInvitesPerPlayer);
+        return this;
+    }
+
+    /**
+     * Used to get the invites sent to a player
+     * that have not expired.
+     * If the inbox is incomplete the invites
+     * are read from the database.
+     *
+     * @param toPlayerUuid The player's uuid.
+     * @return The list of invites.
+     */
+    public @NotNull List<GameRoomInviteRecord> getInviteList(@NotNull UUID toPlayerUuid) {
+        final Inbox inbox = this.getInbox(toPlayerUuid);
+        synchronized (this) {
+            if (inbox.complete) {
+                inbox.inviteMap.values().removeIf(GameRoomInviteRecord::hasExpired);
+                return new ArrayList<>(inbox.inviteMap.values());
+            }
+        }
+        return this.loader.apply(toPlayerUuid);
+    }
+
+    /**
+     * Used to get the invite sent to a player from a game room.
+     * If the invite is not in an incomplete inbox
+     * it is read from the database.
+     *
+     * @param toPlayerUuid The player's uuid.
+     * @param gameRoomUuid The game room's uuid.
+     * @return The optional invite.
+     */
+    public @NotNull Optional<GameRoomInviteRecord> getInvite(@NotNull UUID toPlayerUuid, @NotNull UUID gameRoomUuid) {
+        final Inbox inbox = this.getInbox(toPlayerUuid);
+        synchronized (this) {
+            final GameRoomInviteRecord invite = inbox.inviteMap.get(gameRoomUuid);
+            if (invite != null) return invite.hasExpired() ? Optional.empty() : Optional.of(invite);
+            if (inbox.complete) return Optional.empty();
+        }
+        return this.inviteLoader.apply(toPlayerUuid, gameRoomUuid);
+    }
+
+    /**
+     * Used to get how long an inbox is kept
+     * after it was last read.
+     *
+     * @return The idle expiry duration.
+     */
+    public @NotNull Duration getIdleExpiry() {
+        return this.idleExpiry;
+    }
+
+    /**
+     * Used to set how long an inbox is kept
+     * after it was last read.
+     *
+     * @param idleExpiry The idle expiry duration.
+     * @return This instance.
+     */
+    public synchronized @NotNull InviteInboxCache setIdleExpiry(@NotNull Duration idleExpiry) {
+        this.idleExpiry = idleExpiry;
+        return this;
+    }
+
+    /**
+     * Used to remove the inboxes that have not
+     * been read for the idle expiry duration.
+     *
+     * @return The number of inboxes removed.
+     */
+    public synchronized int removeIdle() {
+        final long oldestReadMillis = System.currentTimeMillis() - this.idleExpiry.toMillis();
+        final int size = this.inboxMap.size();
+        this.inboxMap.values().removeIf(inbox -> inbox.lastReadMillis < oldestReadMillis);
+        return size - this.inboxMap.size();
+    }
+
+    /**
+     * Used to check if a player's inbox
+     * is loaded or loading on this server.
+     *
+     * @param toPlayerUuid The player's uuid.
+     * @return True if the inbox is loaded or loading.
+     */
+    public synchronized boolean isLoaded(@NotNull UUID toPlayerUuid) {
+        return this.inboxMap.containsKey(toPlayerUuid) || this.pendingMap.containsKey(toPlayerUuid);
+    }
+
+    /**
+     * Used to add an invite to the inbox of the player
+     * it was sent to, if their inbox is loaded or loading.
+     *
+     * @param invite The instance of the invite.
+     */
+    public synchronized void add(@NotNull GameRoomInviteRecord invite) {
+        this.apply(invite.getToPlayerUuid(), inbox -> {
+            inbox.inviteMap.put(invite.getGameRoomUuid(), invite);
+            this.trim(inbox);
+        });
+    }
+
+    /**
+     * Used to remove an invite from the inbox
+     * of the player it was sent to.
+     *
+     * @param invite The instance of the invite.
+     */
+    public synchronized void remove(@NotNull GameRoomInviteRecord invite) {
+        this.apply(invite.getToPlayerUuid(), inbox -> {
+
+            // Only remove it if it has not been replaced by a newer invite.
+            final GameRoomInviteRecord current = inbox.inviteMap.get(invite.getGameRoomUuid());
+            if (current != null && current.uuid.equals(invite.uuid)) inbox.inviteMap.remove(invite.getGameRoomUuid());
+        });
+    }
+
+    /**
+     * Used to remove the invites to a game room
+     * from every inbox.
+     *
+     * @param gameRoomUuid The game room's uuid.
+     */
+    public synchronized void removeGameRoom(@NotNull UUID gameRoomUuid) {
+        for (Inbox inbox : this.inboxMap.values()) {
+            inbox.inviteMap.remove(gameRoomUuid);
+        }
+        for (List<Consumer<Inbox>> pendingList : this.pendingMap.values()) {
+            pendingList.add(inbox -> inbox.inviteMap.remove(gameRoomUuid));
+        }
+    }
+
+    /**
+     * Used to remove a player's inbox.
+     * This should be called when the player goes offline.
+     *
+     * @param playerUuid The player's uuid.
+     */
+    public synchronized void evict(@NotNull UUID playerUuid) {
+        this.inboxMap.remove(playerUuid);
+        this.pendingMap.remove(playerUuid);
+    }
+
+    /**
+     * Used to remove every inbox.
+     */
+    public synchronized void clear() {
+        this.inboxMap.clear();
+        this.pendingMap.clear();
+    }
+
+    /**
+     * Used to apply a change to a player's inbox.
+     * If the inbox is loading the change is kept
+     * and applied once it has loaded.
+     *
+     * @param toPlayerUuid The player's uuid.
+     * @param change       The change to apply.
+     */
+    private void apply(@NotNull UUID toPlayerUuid, @NotNull Consumer<Inbox> change) {
+        final Inbox inbox = this.inboxMap.get(toPlayerUuid);
+        if (inbox != null) {
+            change.accept(inbox);
+            return;
+        }
+
+        final List<Consumer<Inbox>> pendingList = this.pendingMap.get(toPlayerUuid);
+        if (pendingList != null) pendingList.add(change);
+    }
+
+    /**
+     * Used to get a player's inbox,
+     * loading it if it is not cached.
+     *
+     * @param toPlayerUuid The player's uuid.
+     * @return The player's inbox.
+     */
+    private @NotNull Inbox getInbox(@NotNull UUID toPlayerUuid) {
+        final List<Consumer<Inbox>> pendingList;
+        synchronized (this) {
+            final Inbox inbox = this.inboxMap.get(toPlayerUuid);
+            if (inbox != null) {
+                inbox.lastReadMillis = System.currentTimeMillis();
+                return inbox;
+            }
+
+            // Keep the changes made while the inbox is loading.
+            pendingList = this.pendingMap.computeIfAbsent(toPlayerUuid, uuid -> new ArrayList<>());
+        }
+
+        // Load outside the lock so other players are not blocked.
+        final List<GameRoomInviteRecord> inviteList;
+        try {
+            inviteList = this.loader.apply(toPlayerUuid);
+        } catch (RuntimeException exception) {
+            synchronized (this) {
+                this.pendingMap.remove(toPlayerUuid, pendingList);
+            }
+            throw exception;
+        }
+
+        synchronized (this) {
+            final Inbox inbox = this.inboxMap.get(toPlayerUuid);
+            if (inbox != null) return inbox;
+
+            final Inbox loaded = new Inbox();
+            for (GameRoomInviteRecord invite : inviteList) {
+                loaded.inviteMap.put(invite.getGameRoomUuid(), invite);
+            }
+            for (Consumer<Inbox> change : pendingList) {
+                change.accept(loaded);
+            }
+            this.trim(loaded);
+
+            // Only cache it if it was not evicted while loading.
+            if (this.pendingMap.get(toPlayerUuid) == pendingList) {
+                this.pendingMap.remove(toPlayerUuid);
+                this.inboxMap.put(toPlayerUuid, loaded);
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * Used to remove the oldest invites from
+     * an inbox until it is within the limit.
+     * The inbox is then marked as incomplete.
+     *
+     * @param inbox The inbox to trim.
+     */
+    private void trim(@NotNull Inbox inbox) {
+        final Iterator<UUID> iterator = inbox.inviteMap.keySet().iterator();
+        while (inbox.inviteMap.size() > this.maxInvitesPerPlayer && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            inbox.complete = false;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.game;
+
+import com.github.minemaniauk.api.database.record.GameRoomInviteRecord;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the result of validating a list of invites.
+ * Contains the invites that are still valid and the
+ * invites that have expired or are to a game room
+ * that no longer exists.
+ */
+public class InviteValidationResult {
+
+    private final @NotNull List<GameRoomInviteRecord> validList;
+    private final @NotNull List<GameRoomInviteRecord> invalidList;
+    private final boolean invalidRemoved;
+
+    /**
+     * Used to create an invite validation result.
+     *
+     * @param validList      The invites that are valid.
+     * @param invalidList    The invites that are invalid.
+     * @param invalidRemoved True if the invalid invites were removed.
+     */
+    public InviteValidationResult(@NotNull List<GameRoomInviteRecord> validList,
+                                  @NotNull List<GameRoomInviteRecord> invalidList,
+                                  boolean invalidRemoved) {
+
+        this.validList = validList;
+        this.invalidList = invalidList;
+        this.invalidRemoved = invalidRemoved;
+    }
+
+    /**
+     * Used to get the invites that are still valid.
+     *
+     * @return The list of valid invites.
+     */
+    public @NotNull List<GameRoomInviteRecord> getValid() {
+        return Collections.unmodifiableList(this.validList);
+    }
+
+    /**
+     * Used to get the invites that are no longer valid.
+     *
+     * @return The list of invalid invites.
+     */
+    public @NotNull List<GameRoomInviteRecord> getInvalid() {
+        return Collections.unmodifiableList(this.invalidList);
+    }
+
+    /**
+     * Used to check if the invalid invites
+     * were removed from the database.
+     *
+     * @return True if they were removed.
+     */
+    public boolean isInvalidRemoved() {
+        return this.invalidRemoved;
+    }
+}
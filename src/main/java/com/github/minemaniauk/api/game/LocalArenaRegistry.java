@@ -0,0 +1,214 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.game;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents the registry of arenas hosted on this server.
+ * <li>
+ * Arenas are indexed by identifier, game type and
+ * game room identifier. Registering and unregistering
+ * replaces an immutable snapshot, so the arenas can be
+ * iterated on any thread while others are registered.
+ * </li>
+ */
+public class LocalArenaRegistry {
+
+    private volatile @NotNull Snapshot snapshot;
+    private final @NotNull Map<UUID, Arena> gameRoomMap;
+
+    /**
+     * Represents an immutable view of the registered arenas.
+     */
+    private static class Snapshot {
+
+        private final @NotNull Map<UUID, Arena> arenaMap;
+        private final @NotNull Map<GameType, List<Arena>> gameTypeMap;
+        private final @NotNull List<Arena> arenaList;
+
+        /**
+         * Used to create a snapshot from an ordered map of arenas.
+         *
+         * @param arenaMap The map of arena identifiers to arenas.
+         */
+        private Snapshot(@NotNull LinkedHashMap<UUID, Arena> arenaMap) {
+            final Map<GameType, List<Arena>> gameTypeMap = new EnumMap<>(GameType.class);
+            for (Arena arena : arenaMap.values()) {
+                gameTypeMap.computeIfAbsent(arena.getGameType(), type -> new ArrayList<>()).add(arena);
+            }
+            gameTypeMap.replaceAll((type, list) -> List.copyOf(list));
+
+            this.arenaMap = Collections.unmodifiableMap(arenaMap);
+            this.gameTypeMap = gameTypeMap;
+            this.arenaList = List.copyOf(arenaMap.values());
+        }
+    }
+
+    /**
+     * Used to create an empty local arena registry.
+     */
+    public LocalArenaRegistry() {
+        this.snapshot = new Snapshot(new LinkedHashMap<>());
+        this.gameRoomMap = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Used to register an arena.
+     * If an arena with the same identifier is
+     * registered, it will be replaced.
+     *
+     * @param arena The instance of the arena.
+     * @return This instance.
+     */
+    public @NotNull LocalArenaRegistry register(@NotNull Arena arena) {
+        return this.registerAll(List.of(arena));
+    }
+
+    /**
+     * Used to register many arenas at once.
+     * The arenas will all become visible at the same time.
+     *
+     * @param arenas The arenas to register.
+     * @return This instance.
+     */
+    public synchronized @NotNull LocalArenaRegistry registerAll(@NotNull Collection<Arena> arenas) {
+        final LinkedHashMap<UUID, Arena> arenaMap = new LinkedHashMap<>(this.snapshot.arenaMap);
+        for (Arena arena : arenas) {
+            final Arena previous = arenaMap.put(arena.getIdentifier(), arena);
+            if (previous != null) this.removeGameRoomIndex(previous);
+            arena.getGameRoomIdentifier().ifPresent(uuid -> this.gameRoomMap.put(uuid, arena));
+        }
+
+        this.snapshot = new Snapshot(arenaMap);
+        return this;
+    }
+
+    /**
+     * Used to unregister an arena.
+     *
+     * @param identifier The arena's identifier.
+     * @return The arena that was unregistered or null.
+     */
+    public @Nullable Arena unregister(@NotNull UUID identifier) {
+        final List<Arena> removed = this.unregisterAll(List.of(identifier));
+        return removed.isEmpty() ? null : removed.get(0);
+    }
+
+    /**
+     * Used to unregister many arenas at once.
+     * The arenas will all be removed at the same time.
+     *
+     * @param identifiers The identifiers of the arenas.
+     * @return The arenas that were unregistered.
+     */
+    public synchronized @NotNull List<Arena> unregisterAll(@NotNull Collection<UUID> identifiers) {
+        final LinkedHashMap<UUID, Arena> arenaMap = new LinkedHashMap<>(this.snapshot.arenaMap);
+        final List<Arena> removed = new ArrayList<>();
+        for (UUID identifier : identifiers) {
+            final Arena arena = arenaMap.remove(identifier);
+            if (arena == null) continue;
+            this.removeGameRoomIndex(arena);
+            removed.add(arena);
+        }
+
+        if (!removed.isEmpty()) this.snapshot = new Snapshot(arenaMap);
+        return removed;
+    }
+
+    /**
+     * Used to get a registered arena.
+     *
+     * @param identifier The arena's identifier.
+     * @return The arena or null if it is not registered.
+     */
+    public @Nullable Arena getArena(@NotNull UUID identifier) {
+        return this.snapshot.arenaMap.get(identifier);
+    }
+
+    /**
+     * Used to get the registered arena a game room is using.
+     *
+     * @param gameRoomIdentifier The game room's identifier.
+     * @return The arena or null if no local arena is using the game room.
+     */
+    public @Nullable Arena getArenaFromGameRoom(@NotNull UUID gameRoomIdentifier) {
+        final Arena arena = this.gameRoomMap.get(gameRoomIdentifier);
+        if (arena != null && gameRoomIdentifier.equals(arena.getGameRoomIdentifier().orElse(null))) return arena;
+
+        // The game room identifier may have been
+        // changed directly on the arena.
+        if (arena != null) this.gameRoomMap.remove(gameRoomIdentifier, arena);
+        for (Arena registered : this.snapshot.arenaList) {
+            if (!gameRoomIdentifier.equals(registered.getGameRoomIdentifier().orElse(null))) continue;
+            this.gameRoomMap.put(gameRoomIdentifier, registered);
+            return registered;
+        }
+        return null;
+    }
+
+    /**
+     * Used to get the list of registered arenas.
+     *
+     * @return The unmodifiable list of arenas.
+     */
+    public @NotNull List<Arena> getArenaList() {
+        return this.snapshot.arenaList;
+    }
+
+    /**
+     * Used to get the list of registered arenas of a game type.
+     *
+     * @param gameType The game type to filter.
+     * @return The unmodifiable list of arenas.
+     */
+    public @NotNull List<Arena> getArenaList(@NotNull GameType gameType) {
+        return this.snapshot.gameTypeMap.getOrDefault(gameType, List.of());
+    }
+
+    /**
+     * Used to set the game room identifier of a registered arena
+     * and keep the game room index up to date.
+     *
+     * @param arena              The instance of the arena.
+     * @param gameRoomIdentifier The game room identifier or null.
+     * @return This instance.
+     */
+    public @NotNull LocalArenaRegistry setGameRoomIdentifier(@NotNull Arena arena, @Nullable UUID gameRoomIdentifier) {
+        this.removeGameRoomIndex(arena);
+        arena.setGameRoomIdentifier(gameRoomIdentifier);
+        if (gameRoomIdentifier != null) this.gameRoomMap.put(gameRoomIdentifier, arena);
+        return this;
+    }
+
+    /**
+     * Used to remove an arena from the game room index.
+     *
+     * @param arena The instance of the arena.
+     */
+    private void removeGameRoomIndex(@NotNull Arena arena) {
+        arena.getGameRoomIdentifier().ifPresent(uuid -> this.gameRoomMap.remove(uuid, arena));
+    }
+}
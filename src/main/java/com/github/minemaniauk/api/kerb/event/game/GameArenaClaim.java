@@ -0,0 +1,69 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.kerb.event.game;
+
+import com.github.kerbity.kerb.packet.event.Event;
+import com.github.minemaniauk.api.game.Arena;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Represents the game arena claimed event.
+ * This is fired when an arena has been reserved for a game room,
+ * so every server can update its arena cache.
+ * Unlike {@link GameArenaActivate} this does not
+ * call {@link Arena#activate()}.
+ */
+public class GameArenaClaim extends Event implements GameEvent {
+
+    private final @NotNull UUID arenaIdentifier;
+    private final @NotNull UUID gameRoomIdentifier;
+
+    /**
+     * Used to create a game arena claim event.
+     *
+     * @param arenaIdentifier    The arena identifier that was claimed.
+     * @param gameRoomIdentifier The game room the arena was claimed for.
+     */
+    public GameArenaClaim(@NotNull UUID arenaIdentifier, @NotNull UUID gameRoomIdentifier) {
+        this.arenaIdentifier = arenaIdentifier;
+        this.gameRoomIdentifier = gameRoomIdentifier;
+    }
+
+    /**
+     * Used to get the arena's identifier.
+     *
+     * @return The arena's identifier.
+     */
+    public @NotNull UUID getArenaIdentifier() {
+        return this.arenaIdentifier;
+    }
+
+    /**
+     * Used to get the game room identifier.
+     *
+     * @return The game room identifier.
+     */
+    public @NotNull UUID getGameRoomIdentifier() {
+        return this.gameRoomIdentifier;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.kerb.event.game;
+
+import com.github.kerbity.kerb.packet.event.Event;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Represents the game arena heartbeat event.
+ * This is fired when a server has renewed the lease
+ * of its arenas, so other servers know the arenas
+ * are still being hosted.
+ */
+public class GameArenaHeartbeat extends Event implements GameEvent {
+
+    private final @NotNull List<String> serverNames;
+    private final long leaseExpiry;
+
+    /**
+     * Used to create a game arena heartbeat event.
+     *
+     * @param serverNames The server names of the arenas that were renewed.
+     * @param leaseExpiry The time in milliseconds the leases now expire.
+     */
+    public GameArenaHeartbeat(@NotNull List<String> serverNames, long leaseExpiry) {
+        this.serverNames = serverNames;
+        this.leaseExpiry = leaseExpiry;
+    }
+
+    /**
+     * Used to get the server names of the
+     * arenas that were renewed.
+     *
+     * @return The list of server names.
+     */
+    public @NotNull List<String> getServerNames() {
+        return this.serverNames;
+    }
+
+    /**
+     * Used to get the time the leases now expire.
+     *
+     * @return The time in milliseconds.
+     */
+    public long getLeaseExpiry() {
+        return this.leaseExpiry;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.kerb.event.game;
+
+import com.github.kerbity.kerb.packet.event.Event;
+import com.github.minemaniauk.api.database.record.ArenaRecord;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Represents the game arena register event.
+ * This is fired when arenas have been registered
+ * in the database so other servers can add them to
+ * their arena cache without querying the database.
+ */
+public class GameArenaRegister extends Event implements GameEvent {
+
+    private final @NotNull List<ArenaRecord> recordList;
+
+    /**
+     * Used to create a game arena register event.
+     *
+     * @param record The instance of the arena record that was registered.
+     */
+    public GameArenaRegister(@NotNull ArenaRecord record) {
+        this.recordList = List.of(record);
+    }
+
+    /**
+     * Used to create a game arena register event
+     * for many arenas.
+     *
+     * @param recordList The arena records that were registered.
+     */
+    public GameArenaRegister(@NotNull List<ArenaRecord> recordList) {
+        this.recordList = recordList;
+    }
+
+    /**
+     * Used to get the arena records
+     * that were registered.
+     *
+     * @return The list of arena records.
+     */
+    public @NotNull List<ArenaRecord> getRecordList() {
+        return this.recordList;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.kerb.event.game;
+
+import com.github.kerbity.kerb.packet.event.Event;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Represents the game arena unregister event.
+ * This is fired when arenas have been removed
+ * from the database so other servers can remove them
+ * from their arena cache.
+ */
+public class GameArenaUnregister extends Event implements GameEvent {
+
+    private final @NotNull List<UUID> arenaIdentifiers;
+
+    /**
+     * Used to create a game arena unregister event.
+     *
+     * @param arenaIdentifier The identifier of the arena that was unregistered.
+     */
+    public GameArenaUnregister(@NotNull UUID arenaIdentifier) {
+        this.arenaIdentifiers = List.of(arenaIdentifier);
+    }
+
+    /**
+     * Used to create a game arena unregister event
+     * for many arenas.
+     *
+     * @param arenaIdentifiers The identifiers of the arenas that were unregistered.
+     */
+    public GameArenaUnregister(@NotNull List<UUID> arenaIdentifiers) {
+        this.arenaIdentifiers = arenaIdentifiers;
+    }
+
+    /**
+     * Used to get the identifiers of the
+     * arenas that were unregistered.
+     *
+     * @return The list of arena identifiers.
+     */
+    public @NotNull List<UUID> getArenaIdentifiers() {
+        return this.arenaIdentifiers;
+    }
+}
@@ -24,7 +24,9 @@ import com.github.kerbity.kerb.packet.event.Event;
 import com.github.minemaniauk.api.MineManiaAPI;
 import com.github.minemaniauk.api.database.collection.GameRoomCollection;
 import com.github.minemaniauk.api.database.record.GameRoomRecord;
+import com.github.minemaniauk.api.database.view.GameRoomSnapshot;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
 
@@ -35,6 +37,7 @@ import java.util.UUID;
 public class GameRoomCreateEvent extends Event implements GameRoomEvent {
 
     private final @NotNull UUID gameRoomUuid;
+    private final @Nullable GameRoomSnapshot snapshot;
 
     /**
      * Used to create a game room create event.
@@ -45,10 +48,38 @@ public class GameRoomCreateEvent extends Event implements GameRoomEvent {
      */
     public GameRoomCreateEvent(@NotNull UUID gameRoomUuid) {
         this.gameRoomUuid = gameRoomUuid;
+        this.snapshot = null;
+    }
+
+    /**
+     * Used to create a game room create event
+     * containing a snapshot of the game room.
+     *
+     * @param gameRoom The instance of the created game room.
+     */
+    public GameRoomCreateEvent(@NotNull GameRoomRecord gameRoom) {
+        this.gameRoomUuid = gameRoom.getUuid();
+        this.snapshot = new GameRoomSnapshot(gameRoom);
+    }
+
+    /**
+     * Used to get the game room's uuid
+     * without using the database.
+     *
+     * @return The game room's uuid.
+     */
+    public @NotNull UUID getGameRoomUuid() {
+        return this.gameRoomUuid;
+    }
+
+    @Override
+    public @Nullable GameRoomSnapshot getSnapshot() {
+        return this.snapshot;
     }
 
     @Override
     public @NotNull GameRoomRecord getGameRoom() {
+        if (this.snapshot != null) return this.snapshot.asRecord();
         return MineManiaAPI.getInstance()
                 .getDatabase()
                 .getTable(GameRoomCollection.class)
@@ -0,0 +1,66 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.kerb.event.gameroom;
+
+import com.github.kerbity.kerb.packet.event.Event;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Represents a game room delete event.
+ * This is sent to all clients when game rooms
+ * have been removed from the database.
+ */
+public class GameRoomDeleteEvent extends Event {
+
+    private final @NotNull List<UUID> gameRoomUuids;
+
+    /**
+     * Used to create a game room delete event.
+     *
+     * @param gameRoomUuid The game room's uuid.
+     */
+    public GameRoomDeleteEvent(@NotNull UUID gameRoomUuid) {
+        this.gameRoomUuids = List.of(gameRoomUuid);
+    }
+
+    /**
+     * Used to create a game room delete event
+     * for many game rooms.
+     *
+     * @param gameRoomUuids The uuids of the deleted game rooms.
+     */
+    public GameRoomDeleteEvent(@NotNull List<UUID> gameRoomUuids) {
+        this.gameRoomUuids = gameRoomUuids;
+    }
+
+    /**
+     * Used to get the uuids of the game rooms
+     * that were deleted.
+     *
+     * @return The list of game room uuids.
+     */
+    public @NotNull List<UUID> getGameRoomUuids() {
+        return this.gameRoomUuids;
+    }
+}
@@ -21,7 +21,9 @@
 package com.github.minemaniauk.api.kerb.event.gameroom;
 
 import com.github.minemaniauk.api.database.record.GameRoomRecord;
+import com.github.minemaniauk.api.database.view.GameRoomSnapshot;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Represents a game room event.
@@ -31,10 +33,22 @@ public interface GameRoomEvent {
     /**
      * Used to get the instance of the game room.
      * <li>
-     * This method uses the database. Be careful with multiple calls.
+     * This method uses the database when the event does not
+     * contain a snapshot. Be careful with multiple calls.
      * </li>
      *
      * @return The instance of the game room.
      */
     @NotNull GameRoomRecord getGameRoom();
+
+    /**
+     * Used to get the snapshot of the game room
+     * sent with the event.
+     *
+     * @return The snapshot or null if the event was
+     * created without one.
+     */
+    default @Nullable GameRoomSnapshot getSnapshot() {
+        return null;
+    }
 }
@@ -23,16 +23,27 @@ package com.github.minemaniauk.api.kerb.event.gameroom;
 import com.github.kerbity.kerb.packet.event.Event;
 import com.github.minemaniauk.api.database.record.GameRoomInviteRecord;
 import com.github.minemaniauk.api.database.record.GameRoomRecord;
+import com.github.minemaniauk.api.database.view.GameRoomSnapshot;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.UUID;
 
 /**
  * Represents the game room invite event.
- * This is sent when someone is invited to a game room.
+ * This is sent when players are invited to a game room.
+ * <li>
+ * The first invite is also sent in the gameRoomInvite field,
+ * so servers running an older version still read it,
+ * and events from those servers are still read here.
+ * </li>
  */
 public class GameRoomInviteEvent extends Event implements GameRoomEvent {
 
     private final @NotNull GameRoomRecord gameRoom;
     private final @NotNull GameRoomInviteRecord gameRoomInvite;
+    private final @Nullable List<GameRoomInviteRecord> gameRoomInvites;
 
     /**
      * Used to create a new game room invite event.
@@ -41,8 +52,24 @@ public class GameRoomInviteEvent extends Event implements GameRoomEvent {
      * @param gameRoomInvite The instance of the game room invite.
      */
     public GameRoomInviteEvent(@NotNull GameRoomRecord gameRoom, @NotNull GameRoomInviteRecord gameRoomInvite) {
-        this.gameRoom = gameRoom;
-        this.gameRoomInvite = gameRoomInvite;
+        this(gameRoom, List.of(gameRoomInvite));
+    }
+
+    /**
+     * Used to create a new game room invite event
+     * for many invites from the same game room.
+     *
+     * @param gameRoom        The instance of the game room invited to.
+     * @param gameRoomInvites The list of game room invites.
+     */
+    public GameRoomInviteEvent(@NotNull GameRoomRecord gameRoom, @NotNull List<GameRoomInviteRecord> gameRoomInvites) {
+        if (gameRoomInvites.isEmpty()) {
+            throw new IllegalArgumentException("Attempted to create a game room invite event without any invites.");
+        }
+
+        this.gameRoom = gameRoom.syncPlayerUuids();
+        this.gameRoomInvite = gameRoomInvites.get(0);
+        this.gameRoomInvites = gameRoomInvites;
     }
 
     @Override
@@ -50,7 +77,38 @@ public class GameRoomInviteEvent extends Event implements GameRoomEvent {
         return this.gameRoom;
     }
 
+    @Override
+    public @Nullable GameRoomSnapshot getSnapshot() {
+        return new GameRoomSnapshot(this.gameRoom);
+    }
+
+    /**
+     * Used to get the first invite in this event.
+     *
+     * @return The instance of the game room invite.
+     */
     public @NotNull GameRoomInviteRecord getGameRoomInvite() {
         return this.gameRoomInvite;
     }
+
+    /**
+     * Used to get every invite in this event.
+     *
+     * @return The list of game room invites.
+     */
+    public @NotNull List<GameRoomInviteRecord> getGameRoomInvites() {
+
+        // Events from older versions only have the single invite.
+        if (this.gameRoomInvites == null) return List.of(this.gameRoomInvite);
+        return this.gameRoomInvites;
+    }
+
+    /**
+     * Used to get the players that were invited.
+     *
+     * @return The list of player uuids.
+     */
+    public @NotNull List<UUID> getToPlayerUuids() {
+        return this.getGameRoomInvites().stream().map(GameRoomInviteRecord::getToPlayerUuid).toList();
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.kerb.event.gameroom;
+
+import com.github.kerbity.kerb.packet.event.Event;
+import com.github.minemaniauk.api.database.record.GameRoomInviteRecord;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Represents the game room invite remove event.
+ * This is sent when invites have been removed from
+ * the database, for example when they are accepted,
+ * so other servers can remove them from their inboxes.
+ */
+public class GameRoomInviteRemoveEvent extends Event {
+
+    private final @NotNull List<GameRoomInviteRecord> gameRoomInvites;
+
+    /**
+     * Used to create a game room invite remove event.
+     *
+     * @param gameRoomInvite The instance of the removed invite.
+     */
+    public GameRoomInviteRemoveEvent(@NotNull GameRoomInviteRecord gameRoomInvite) {
+        this.gameRoomInvites = List.of(gameRoomInvite);
+    }
+
+    /**
+     * Used to create a game room invite remove event
+     * for many invites.
+     *
+     * @param gameRoomInvites The list of removed invites.
+     */
+    public GameRoomInviteRemoveEvent(@NotNull List<GameRoomInviteRecord> gameRoomInvites) {
+        this.gameRoomInvites = gameRoomInvites;
+    }
+
+    /**
+     * Used to get the invites that were removed.
+     *
+     * @return The list of invites.
+     */
+    public @NotNull List<GameRoomInviteRecord> getGameRoomInvites() {
+        return this.gameRoomInvites;
+    }
+}
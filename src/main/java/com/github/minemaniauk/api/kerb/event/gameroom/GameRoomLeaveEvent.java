@@ -24,8 +24,10 @@ import com.github.kerbity.kerb.packet.event.Event;
 import com.github.minemaniauk.api.MineManiaAPI;
 import com.github.minemaniauk.api.database.collection.GameRoomCollection;
 import com.github.minemaniauk.api.database.record.GameRoomRecord;
+import com.github.minemaniauk.api.database.view.GameRoomSnapshot;
 import com.github.minemaniauk.api.user.MineManiaUser;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.UUID;
 
@@ -37,6 +39,7 @@ public class GameRoomLeaveEvent extends Event implements GameRoomEvent {
 
     private final @NotNull UUID gameRoomUuid;
     private final @NotNull MineManiaUser user;
+    private final @Nullable GameRoomSnapshot snapshot;
 
     /**
      * Used to create a game room leave event.
@@ -50,10 +53,42 @@ public class GameRoomLeaveEvent extends Event implements GameRoomEvent {
     public GameRoomLeaveEvent(@NotNull UUID gameRoomUuid, @NotNull MineManiaUser user) {
         this.gameRoomUuid = gameRoomUuid;
         this.user = user;
+        this.snapshot = null;
+    }
+
+    /**
+     * Used to create a game room leave event
+     * containing a snapshot of the game room.
+     * This should be executed after they have been removed
+     * and all the checks are done.
+     *
+     * @param gameRoom The instance of the updated game room.
+     * @param user     The user that left the game room.
+     */
+    public GameRoomLeaveEvent(@NotNull GameRoomRecord gameRoom, @NotNull MineManiaUser user) {
+        this.gameRoomUuid = gameRoom.getUuid();
+        this.user = user;
+        this.snapshot = new GameRoomSnapshot(gameRoom);
+    }
+
+    /**
+     * Used to get the game room's uuid
+     * without using the database.
+     *
+     * @return The game room's uuid.
+     */
+    public @NotNull UUID getGameRoomUuid() {
+        return this.gameRoomUuid;
+    }
+
+    @Override
+    public @Nullable GameRoomSnapshot getSnapshot() {
+        return this.snapshot;
     }
 
     @Override
     public @NotNull GameRoomRecord getGameRoom() {
+        if (this.snapshot != null) return this.snapshot.asRecord();
         return MineManiaAPI.getInstance()
                 .getDatabase()
                 .getTable(GameRoomCollection.class)
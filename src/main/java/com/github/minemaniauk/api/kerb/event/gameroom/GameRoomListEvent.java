@@ -0,0 +1,53 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.kerb.event.gameroom;
+
+import com.github.kerbity.kerb.packet.event.Event;
+import com.github.minemaniauk.api.game.GameRoomList;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a game room list event.
+ * This is sent to all clients with the latest
+ * summary of the public game rooms for a game type.
+ */
+public class GameRoomListEvent extends Event {
+
+    private final @NotNull GameRoomList roomList;
+
+    /**
+     * Used to create a game room list event.
+     *
+     * @param roomList The instance of the room list.
+     */
+    public GameRoomListEvent(@NotNull GameRoomList roomList) {
+        this.roomList = roomList;
+    }
+
+    /**
+     * Used to get the room list.
+     *
+     * @return The instance of the room list.
+     */
+    public @NotNull GameRoomList getRoomList() {
+        return this.roomList;
+    }
+}
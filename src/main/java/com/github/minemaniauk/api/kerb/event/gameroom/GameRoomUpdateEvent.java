@@ -0,0 +1,70 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.kerb.event.gameroom;
+
+import com.github.kerbity.kerb.packet.event.Event;
+import com.github.minemaniauk.api.database.record.GameRoomRecord;
+import com.github.minemaniauk.api.database.view.GameRoomSnapshot;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Represents a game room update event.
+ * This is sent to all clients when a game room
+ * has been saved, so they can update their cache.
+ */
+public class GameRoomUpdateEvent extends Event implements GameRoomEvent {
+
+    private final @NotNull UUID gameRoomUuid;
+    private final @NotNull GameRoomSnapshot snapshot;
+
+    /**
+     * Used to create a game room update event
+     * containing a snapshot of the saved game room.
+     *
+     * @param gameRoom The instance of the saved game room.
+     */
+    public GameRoomUpdateEvent(@NotNull GameRoomRecord gameRoom) {
+        this.gameRoomUuid = gameRoom.getUuid();
+        this.snapshot = new GameRoomSnapshot(gameRoom);
+    }
+
+    /**
+     * Used to get the game room's uuid
+     * without using the database.
+     *
+     * @return The game room's uuid.
+     */
+    public @NotNull UUID getGameRoomUuid() {
+        return this.gameRoomUuid;
+    }
+
+    @Override
+    public @NotNull GameRoomSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    @Override
+    public @NotNull GameRoomRecord getGameRoom() {
+        return this.snapshot.asRecord();
+    }
+}
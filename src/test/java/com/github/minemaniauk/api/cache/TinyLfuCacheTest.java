@@ -0,0 +1,119 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Used to test how the {@link TinyLfuCache}
+ * admits and evicts entries.
+ * <li>
+ * A cache of ten entries has a window of one
+ * entry and a main space of nine entries.
+ * </li>
+ */
+public class TinyLfuCacheTest {
+
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(1);
+
+    private TinyLfuCache<String, String> cache;
+
+    @BeforeEach
+    public void setUp() {
+        this.cache = new TinyLfuCache<>(10);
+    }
+
+    @Test
+    public void testKeepsEntriesWithinMaximumSize() {
+        for (int index = 0; index < 50; index++) {
+            this.cache.put("key" + index, "value" + index, TIME_TO_LIVE);
+        }
+
+        assertEquals(10, this.cache.size());
+        assertEquals(40, this.cache.getStats().getEvictionCount());
+    }
+
+    @Test
+    public void testRejectsCandidateNoMoreFrequentThanVictim() {
+        for (int index = 0; index < 10; index++) {
+            this.cache.put("key" + index, "value" + index, TIME_TO_LIVE);
+        }
+
+        // The last key leaves the window and loses to the oldest probation entry.
+        this.cache.put("new", "value", TIME_TO_LIVE);
+
+        assertEquals(1, this.cache.getStats().getEvictionCount());
+        assertNull(this.cache.get("key9"));
+        assertEquals("value0", this.cache.get("key0"));
+        assertEquals("value", this.cache.get("new"));
+    }
+
+    @Test
+    public void testAdmitsCandidateMoreFrequentThanVictim() {
+        for (int index = 0; index < 5; index++) {
+            this.cache.get("hot");
+        }
+        for (int index = 0; index < 9; index++) {
+            this.cache.put("key" + index, "value" + index, TIME_TO_LIVE);
+        }
+        this.cache.put("hot", "value", TIME_TO_LIVE);
+
+        // The hot key leaves the window and replaces the oldest probation entry.
+        this.cache.put("new", "value", TIME_TO_LIVE);
+
+        assertEquals(1, this.cache.getStats().getEvictionCount());
+        assertEquals("value", this.cache.get("hot"));
+        assertNull(this.cache.get("key0"));
+    }
+
+    @Test
+    public void testExpiredEntryIsNotReturned() {
+        this.cache.put("key", "value", Duration.ZERO);
+
+        assertNull(this.cache.get("key"));
+        assertEquals(1, this.cache.getStats().getExpiredCount());
+        assertEquals(0, this.cache.size());
+    }
+
+    @Test
+    public void testCountsHitsAndMisses() {
+        this.cache.put("key", "value", TIME_TO_LIVE);
+        this.cache.get("key");
+        this.cache.get("missing");
+
+        assertEquals(1, this.cache.getStats().getHitCount());
+        assertEquals(1, this.cache.getStats().getMissCount());
+    }
+
+    @Test
+    public void testInvalidateRemovesEntry() {
+        this.cache.put("key", "value", TIME_TO_LIVE);
+        this.cache.invalidate("key");
+
+        assertNull(this.cache.get("key"));
+        assertEquals(0, this.cache.size());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.game;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Used to test the counters kept
+ * by the {@link ArenaAvailability}.
+ */
+public class ArenaAvailabilityTest {
+
+    private ArenaAvailability availability;
+
+    @BeforeEach
+    public void setUp() {
+        this.availability = new ArenaAvailability();
+    }
+
+    @Test
+    public void testCountsArenasPerBracket() {
+        this.availability.add(2, 8, true);
+        this.availability.add(2, 8, false);
+        this.availability.add(1, 4, true);
+
+        assertEquals(Map.of("1-4", List.of(1, 1), "2-8", List.of(1, 2)), this.availability.asMap());
+        assertEquals(8, this.availability.getMaxPlayers());
+    }
+
+    @Test
+    public void testOrdersBracketsByPlayers() {
+        this.availability.add(4, 16, true);
+        this.availability.add(2, 12, true);
+        this.availability.add(2, 8, true);
+
+        assertEquals(List.of("2-8", "2-12", "4-16"), List.copyOf(this.availability.asMap().keySet()));
+    }
+
+    @Test
+    public void testActivateAndDeactivate() {
+        this.availability.add(2, 8, true);
+        this.availability.add(2, 8, true);
+
+        this.availability.onActivate(2, 8);
+        assertEquals(List.of(1, 2), this.availability.asMap().get("2-8"));
+
+        this.availability.onDeactivate(2, 8);
+        assertEquals(List.of(2, 2), this.availability.asMap().get("2-8"));
+    }
+
+    @Test
+    public void testRemoveHidesEmptyBrackets() {
+        this.availability.add(2, 8, true);
+        this.availability.add(2, 16, false);
+        this.availability.remove(2, 16, false);
+
+        assertEquals(Map.of("2-8", List.of(1, 1)), this.availability.asMap());
+        assertEquals(8, this.availability.getMaxPlayers());
+    }
+
+    @Test
+    public void testNoArenas() {
+        assertTrue(this.availability.asMap().isEmpty());
+        assertTrue(this.availability.asLore().isEmpty());
+        assertEquals(0, this.availability.getMaxPlayers());
+    }
+
+    @Test
+    public void testLoreIsRebuiltOnlyWhenChanged() {
+        this.availability.add(2, 8, true);
+        final List<String> lore = this.availability.asLore();
+
+        assertEquals(List.of("2-8 Players 1/1 Available Arenas"), lore);
+        assertSame(lore, this.availability.asLore());
+
+        this.availability.onActivate(2, 8);
+        assertEquals(List.of("2-8 Players 0/1 Available Arenas"), this.availability.asLore());
+    }
+}
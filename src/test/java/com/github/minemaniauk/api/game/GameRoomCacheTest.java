@@ -0,0 +1,172 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.game;
+
+import com.github.minemaniauk.api.database.collection.GameRoomCollection;
+import com.github.minemaniauk.api.database.record.GameRoomRecord;
+import com.github.minemaniauk.api.database.view.GameRoomSnapshot;
+import org.bson.Document;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Used to test how the {@link GameRoomCache} orders
+ * snapshots and fetches game rooms when it misses a change.
+ * The collection is replaced with a map of game room records.
+ */
+public class GameRoomCacheTest {
+
+    private final @NotNull UUID gameRoomUuid = UUID.randomUUID();
+    private final @NotNull UUID ownerUuid = UUID.randomUUID();
+
+    private Map<UUID, GameRoomRecord> databaseMap;
+    private int fetchCount;
+    private GameRoomCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        this.databaseMap = new HashMap<>();
+        this.fetchCount = 0;
+        this.cache = new GameRoomCache(new GameRoomCollection() {
+            @Override
+            public @NotNull Optional<GameRoomRecord> fetchGameRoom(@NotNull UUID gameRoomUuid) {
+                GameRoomCacheTest.this.fetchCount++;
+                return Optional.ofNullable(GameRoomCacheTest.this.databaseMap.get(gameRoomUuid));
+            }
+        });
+    }
+
+    @Test
+    public void testAppliesNextVersion() {
+        this.cache.put(this.createSnapshot(1, this.ownerUuid));
+        this.cache.onUpdate(this.gameRoomUuid, this.createSnapshot(2, this.ownerUuid));
+
+        assertEquals(2, this.getCachedVersion());
+        assertEquals(0, this.fetchCount);
+    }
+
+    @Test
+    public void testIgnoresOlderVersions() {
+        this.cache.put(this.createSnapshot(3, this.ownerUuid));
+        this.cache.onUpdate(this.gameRoomUuid, this.createSnapshot(2, this.ownerUuid));
+        this.cache.onUpdate(this.gameRoomUuid, this.createSnapshot(3, this.ownerUuid));
+
+        assertEquals(3, this.getCachedVersion());
+        assertEquals(0, this.fetchCount);
+    }
+
+    @Test
+    public void testFetchesWhenVersionIsSkipped() {
+        this.cache.put(this.createSnapshot(1, this.ownerUuid));
+        this.databaseMap.put(this.gameRoomUuid, this.createSnapshot(4, this.ownerUuid).asRecord());
+
+        // Version two was missed.
+        this.cache.onUpdate(this.gameRoomUuid, this.createSnapshot(3, this.ownerUuid));
+
+        assertEquals(1, this.fetchCount);
+        assertEquals(4, this.getCachedVersion());
+    }
+
+    @Test
+    public void testFetchesWhenSnapshotIsMissing() {
+        this.databaseMap.put(this.gameRoomUuid, this.createSnapshot(2, this.ownerUuid).asRecord());
+
+        this.cache.onUpdate(this.gameRoomUuid, null);
+
+        assertEquals(1, this.fetchCount);
+        assertEquals(2, this.getCachedVersion());
+    }
+
+    @Test
+    public void testRemovesGameRoomMissingWhenFetched() {
+        this.cache.put(this.createSnapshot(1, this.ownerUuid));
+
+        this.cache.onUpdate(this.gameRoomUuid, this.createSnapshot(3, this.ownerUuid));
+
+        assertEquals(1, this.fetchCount);
+        assertEquals(Optional.empty(), this.cache.getGameRoom(this.gameRoomUuid));
+    }
+
+    @Test
+    public void testIgnoresUpdatesAfterDelete() {
+        this.cache.put(this.createSnapshot(1, this.ownerUuid));
+        this.cache.onDelete(this.gameRoomUuid);
+        this.cache.onUpdate(this.gameRoomUuid, this.createSnapshot(2, this.ownerUuid));
+
+        assertEquals(Optional.empty(), this.cache.getGameRoom(this.gameRoomUuid));
+        assertEquals(Optional.empty(), this.cache.getGameRoomFromOwner(this.ownerUuid));
+    }
+
+    @Test
+    public void testUpdatesPlayerIndex() {
+        final UUID newOwnerUuid = UUID.randomUUID();
+        this.cache.put(this.createSnapshot(1, this.ownerUuid));
+        this.cache.onUpdate(this.gameRoomUuid, this.createSnapshot(2, newOwnerUuid));
+
+        assertEquals(Optional.empty(), this.cache.getGameRoomFromPlayer(this.ownerUuid));
+        assertEquals(Optional.empty(), this.cache.getGameRoomFromOwner(this.ownerUuid));
+        assertEquals(2, this.cache.getGameRoomFromPlayer(newOwnerUuid).orElseThrow().getVersion());
+    }
+
+    @Test
+    public void testReconcileKeepsGameRoomsAddedAfterRead() {
+        final long startTimeMillis = System.currentTimeMillis() - 1000;
+        this.cache.put(this.createSnapshot(1, this.ownerUuid));
+
+        this.cache.reconcile(List.of(), startTimeMillis);
+        assertEquals(1, this.cache.getSize());
+
+        this.cache.reconcile(List.of(), System.currentTimeMillis() + 1000);
+        assertEquals(0, this.cache.getSize());
+    }
+
+    /**
+     * Used to get the version of the cached game room.
+     *
+     * @return The cached version.
+     */
+    private long getCachedVersion() {
+        return this.cache.getGameRoom(this.gameRoomUuid).orElseThrow().getVersion();
+    }
+
+    /**
+     * Used to create a snapshot of the game room
+     * with only its owner in it.
+     *
+     * @param version   The game room's version.
+     * @param ownerUuid The owner's uuid.
+     * @return The snapshot.
+     */
+    private @NotNull GameRoomSnapshot createSnapshot(long version, @NotNull UUID ownerUuid) {
+        return new GameRoomSnapshot(GameRoomRecord.fromDocument(new Document()
+                .append("uuid", this.gameRoomUuid.toString())
+                .append("owner_uuid", ownerUuid.toString())
+                .append("player_uuid_list", List.of(ownerUuid.toString()))
+                .append("game_type", GameType.SPLEEF.name())
+                .append("version", version)
+        ));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.game;
+
+import com.github.minemaniauk.api.database.record.GameRoomInviteRecord;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Used to test which tick an invite
+ * expires on in the {@link InviteExpiryWheel}.
+ */
+public class InviteExpiryWheelTest {
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int BUCKET_COUNT = 4;
+
+    private InviteExpiryWheel wheel;
+    private List<GameRoomInviteRecord> expiredList;
+
+    @BeforeEach
+    public void setUp() {
+        this.wheel = new InviteExpiryWheel(TICK_MILLIS, BUCKET_COUNT);
+        this.expiredList = new ArrayList<>();
+        this.wheel.addListener(this.expiredList::add);
+    }
+
+    @Test
+    public void testExpiresOnRoundedUpTick() {
+        final GameRoomInviteRecord invite = this.createInvite(System.currentTimeMillis() + 2500);
+        this.wheel.schedule(invite);
+
+        assertEquals(2, this.tickUntilExpired());
+        assertEquals(List.of(invite), this.expiredList);
+        assertEquals(0, this.wheel.getSize());
+    }
+
+    @Test
+    public void testExpiresAfterMoreThanOneRound() {
+
+        // Ten ticks is two full rounds of four buckets and two more.
+        final GameRoomInviteRecord invite = this.createInvite(System.currentTimeMillis() + 9500);
+        this.wheel.schedule(invite);
+
+        assertEquals(9, this.tickUntilExpired());
+        assertEquals(List.of(invite), this.expiredList);
+    }
+
+    @Test
+    public void testExpiredInviteExpiresOnNextTick() {
+        this.wheel.schedule(this.createInvite(System.currentTimeMillis() - 5000));
+
+        assertEquals(0, this.tickUntilExpired());
+    }
+
+    @Test
+    public void testIgnoresInvitesThatDoNotExpire() {
+        this.wheel.schedule(this.createInvite(0));
+
+        assertEquals(0, this.wheel.getSize());
+    }
+
+    @Test
+    public void testIgnoresInvitesAlreadyScheduled() {
+        final GameRoomInviteRecord invite = this.createInvite(System.currentTimeMillis() + 1500);
+        this.wheel.schedule(invite);
+        this.wheel.schedule(invite);
+
+        assertEquals(1, this.wheel.getSize());
+        this.tickUntilExpired();
+        assertEquals(1, this.expiredList.size());
+    }
+
+    @Test
+    public void testCancelledInviteDoesNotExpire() {
+        final GameRoomInviteRecord invite = this.createInvite(System.currentTimeMillis() + 1500);
+        this.wheel.schedule(invite);
+        this.wheel.cancel(invite.getUuid());
+
+        for (int tick = 0; tick < BUCKET_COUNT * 2; tick++) {
+            this.wheel.tick();
+        }
+
+        assertEquals(0, this.wheel.getSize());
+        assertTrue(this.expiredList.isEmpty());
+    }
+
+    /**
+     * Used to tick the wheel until an invite expires.
+     *
+     * @return The number of ticks before the one it expired on.
+     */
+    private int tickUntilExpired() {
+        for (int tick = 0; tick < BUCKET_COUNT * 10; tick++) {
+            this.wheel.tick();
+            if (!this.expiredList.isEmpty()) return tick;
+        }
+        throw new AssertionError("The invite did not expire.");
+    }
+
+    /**
+     * Used to create an invite to a new game room.
+     *
+     * @param expireAt When the invite expires in milliseconds.
+     * @return The invite record.
+     */
+    private @NotNull GameRoomInviteRecord createInvite(long expireAt) {
+        final GameRoomInviteRecord invite = new GameRoomInviteRecord();
+        invite.uuid = UUID.randomUUID().toString();
+        invite.gameRoomUuid = UUID.randomUUID().toString();
+        invite.toPlayerUuid = UUID.randomUUID().toString();
+        invite.expireAt = expireAt;
+        return invite;
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * MineManiaAPI
+ * Used for interacting with the database and message broker.
+ *
+ * Copyright (C) 2023  MineManiaUK Staff
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.github.minemaniauk.api.game;
+
+import com.github.minemaniauk.api.database.record.GameRoomInviteRecord;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Used to test how the {@link InviteInboxCache}
+ * loads, trims and updates player inboxes.
+ */
+public class InviteInboxCacheTest {
+
+    private final @NotNull UUID playerUuid = UUID.randomUUID();
+
+    private Map<UUID, List<GameRoomInviteRecord>> databaseMap;
+    private Consumer<UUID> onLoad;
+    private int loadCount;
+    private int inviteLoadCount;
+    private InviteInboxCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        this.databaseMap = new HashMap<>();
+        this.onLoad = uuid -> {
+        };
+        this.loadCount = 0;
+        this.inviteLoadCount = 0;
+        this.cache = new InviteInboxCache(
+                uuid -> {
+                    this.loadCount++;
+                    this.onLoad.accept(uuid);
+                    return new ArrayList<>(this.databaseMap.getOrDefault(uuid, List.of()));
+                },
+                (uuid, gameRoomUuid) -> {
+                    this.inviteLoadCount++;
+                    return this.databaseMap.getOrDefault(uuid, List.of()).stream()
+                            .filter(invite -> invite.getGameRoomUuid().equals(gameRoomUuid))
+                            .findFirst();
+                }
+        );
+    }
+
+    @Test
+    public void testLoadsInboxOnce() {
+        final GameRoomInviteRecord invite = this.createInvite(this.playerUuid);
+        this.databaseMap.put(this.playerUuid, List.of(invite));
+
+        assertEquals(List.of(invite), this.cache.getInviteList(this.playerUuid));
+        assertEquals(List.of(invite), this.cache.getInviteList(this.playerUuid));
+        assertEquals(1, this.loadCount);
+        assertTrue(this.cache.isLoaded(this.playerUuid));
+    }
+
+    @Test
+    public void testAddsInvitesToLoadedInboxes() {
+        this.cache.getInviteList(this.playerUuid);
+
+        final GameRoomInviteRecord invite = this.createInvite(this.playerUuid);
+        this.cache.add(invite);
+
+        assertEquals(Optional.of(invite), this.cache.getInvite(this.playerUuid, invite.getGameRoomUuid()));
+        assertEquals(0, this.inviteLoadCount);
+    }
+
+    @Test
+    public void testIgnoresInvitesForInboxesNotLoaded() {
+        this.cache.add(this.createInvite(this.playerUuid));
+
+        assertFalse(this.cache.isLoaded(this.playerUuid));
+    }
+
+    @Test
+    public void testAppliesChangesMadeWhileLoading() {
+        final GameRoomInviteRecord removed = this.createInvite(this.playerUuid);
+        final GameRoomInviteRecord added = this.createInvite(this.playerUuid);
+        this.databaseMap.put(this.playerUuid, List.of(removed));
+
+        // Invite events that arrive while the inbox is being read.
+        this.onLoad = uuid -> {
+            assertTrue(this.cache.isLoaded(uuid));
+            this.cache.add(added);
+            this.cache.removeGameRoom(removed.getGameRoomUuid());
+        };
+
+        assertEquals(List.of(added), this.cache.getInviteList(this.playerUuid));
+    }
+
+    @Test
+    public void testDoesNotKeepInboxEvictedWhileLoading() {
+        this.onLoad = this.cache::evict;
+
+        this.cache.getInviteList(this.playerUuid);
+
+        assertFalse(this.cache.isLoaded(this.playerUuid));
+    }
+
+    @Test
+    public void testTrimmedInboxReadsFromDatabase() {
+        this.cache.setMaxInvitesPerPlayer(2);
+        this.cache.getInviteList(this.playerUuid);
+
+        final GameRoomInviteRecord oldest = this.createInvite(this.playerUuid);
+        this.cache.add(oldest);
+        this.cache.add(this.createInvite(this.playerUuid));
+        this.cache.add(this.createInvite(this.playerUuid));
+        this.databaseMap.put(this.playerUuid, List.of(oldest));
+
+        // The oldest invite was removed, so the inbox is incomplete.
+        assertEquals(Optional.of(oldest), this.cache.getInvite(this.playerUuid, oldest.getGameRoomUuid()));
+        assertEquals(1, this.inviteLoadCount);
+
+        this.cache.getInviteList(this.playerUuid);
+        assertEquals(2, this.loadCount);
+    }
+
+    @Test
+    public void testRemoveKeepsNewerInvite() {
+        this.cache.getInviteList(this.playerUuid);
+
+        final GameRoomInviteRecord invite = this.createInvite(this.playerUuid);
+        final GameRoomInviteRecord newer = this.createInvite(this.playerUuid);
+        newer.gameRoomUuid = invite.gameRoomUuid;
+        this.cache.add(invite);
+        this.cache.add(newer);
+        this.cache.remove(invite);
+
+        assertEquals(Optional.of(newer), this.cache.getInvite(this.playerUuid, invite.getGameRoomUuid()));
+    }
+
+    @Test
+    public void testSkipsExpiredInvites() {
+        this.cache.getInviteList(this.playerUuid);
+
+        final GameRoomInviteRecord invite = this.createInvite(this.playerUuid);
+        invite.expireAt = System.currentTimeMillis() - 1000;
+        this.cache.add(invite);
+
+        assertTrue(this.cache.getInviteList(this.playerUuid).isEmpty());
+        assertEquals(Optional.empty(), this.cache.getInvite(this.playerUuid, invite.getGameRoomUuid()));
+    }
+
+    @Test
+    public void testRemovesLeastRecentlyUsedInbox() {
+        final UUID otherPlayerUuid = UUID.randomUUID();
+        this.cache.setMaxPlayers(1);
+
+        this.cache.getInviteList(this.playerUuid);
+        this.cache.getInviteList(otherPlayerUuid);
+
+        assertFalse(this.cache.isLoaded(this.playerUuid));
+        assertTrue(this.cache.isLoaded(otherPlayerUuid));
+    }
+
+    /**
+     * Used to create an invite to a new game room.
+     *
+     * @param toPlayerUuid The invited player's uuid.
+     * @return The invite record.
+     */
+    private @NotNull GameRoomInviteRecord createInvite(@NotNull UUID toPlayerUuid) {
+        final GameRoomInviteRecord invite = new GameRoomInviteRecord();
+        invite.uuid = UUID.randomUUID().toString();
+        invite.gameRoomUuid = UUID.randomUUID().toString();
+        invite.toPlayerUuid = toPlayerUuid.toString();
+        return invite;
+    }
+}